@@ -0,0 +1,161 @@
+package fibonacciheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DijkstraMixBenchmark
+ *
+ * The operation mix of Dijkstra's algorithm on size random keys: every deleteMin is followed by
+ * a few decreaseKeys of random nodes, whose new keys are not smaller than the deleted minimum.
+ * FibonacciHeap is measured against a PriorityQueue of (key << 32 | id) entries, where a decreaseKey
+ * adds an entry and the stale entries are skipped. The score is the time to drain the size keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DijkstraMixBenchmark
+{
+	@State(Scope.Thread)
+	public static class Keys
+	{
+		@Param({"10000", "1000000"})
+		public int size;
+
+		int[] keys;
+		int[] picks; //random numbers, drawn before measuring
+
+		@Setup
+		public void generate()
+		{
+			Random random = new Random(this.size);
+			this.keys = Distribution.RANDOM.keys(this.size, random);
+			this.picks = new int[4 * this.size];
+			for (int i = 0; i < this.picks.length; i++)
+			{
+				this.picks[i] = random.nextInt(Integer.MAX_VALUE);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Fibonacci
+	{
+		FibonacciHeap<Integer> heap;
+		List<FibonacciHeap<Integer>.HeapNode> live; //the nodes in the heap
+		int[] position; //the index of every node in live
+
+		@Setup(Level.Invocation)
+		public void setUp(Keys keys)
+		{
+			int size = keys.size;
+			this.heap = new FibonacciHeap<>();
+			this.live = new ArrayList<>(size);
+			this.position = new int[size];
+			for (int i = 0; i < size; i++)
+			{
+				this.live.add(this.heap.insert(keys.keys[i], i));
+				this.position[i] = i;
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Lazy
+	{
+		PriorityQueue<Long> queue;
+		int[] current; //the key of every id
+		boolean[] done;
+
+		@Setup(Level.Invocation)
+		public void setUp(Keys keys)
+		{
+			this.queue = new PriorityQueue<>();
+			this.current = keys.keys.clone();
+			this.done = new boolean[keys.size];
+			for (int i = 0; i < keys.size; i++)
+			{
+				this.queue.add(((long) keys.keys[i] << 32) | i);
+			}
+		}
+	}
+
+	@Benchmark
+	public int fibonacci(Keys keys, Fibonacci state)
+	{
+		FibonacciHeap<Integer> heap = state.heap;
+		List<FibonacciHeap<Integer>.HeapNode> live = state.live;
+		int[] picks = keys.picks;
+		int p = 0;
+		while (!heap.isEmpty())
+		{
+			FibonacciHeap<Integer>.HeapNode min = heap.findMin();
+			int last = min.key;
+			heap.deleteMin();
+			int at = state.position[min.getValue()]; //remove min from the live nodes
+			FibonacciHeap<Integer>.HeapNode moved = live.get(live.size() - 1);
+			live.set(at, moved);
+			state.position[moved.getValue()] = at;
+			live.remove(live.size() - 1);
+			for (int d = 0; d < 3 && !live.isEmpty(); d++)
+			{
+				FibonacciHeap<Integer>.HeapNode node = live.get(picks[p++ % picks.length] % live.size());
+				int target = last + (picks[p++ % picks.length] % 1024);
+				if (target < node.key)
+				{
+					heap.decreaseKey(node, node.key - target);
+				}
+			}
+		}
+		return p;
+	}
+
+	@Benchmark
+	public int priorityQueue(Keys keys, Lazy state)
+	{
+		PriorityQueue<Long> queue = state.queue;
+		int[] picks = keys.picks;
+		int p = 0;
+		int left = keys.size;
+		while (!queue.isEmpty())
+		{
+			long entry = queue.poll();
+			int id = (int) entry;
+			int last = (int) (entry >>> 32);
+			if (state.done[id] || state.current[id] != last)
+			{
+				continue;
+			}
+			state.done[id] = true;
+			left--;
+			for (int d = 0; d < 3 && left > 0; d++)
+			{
+				int other = picks[p++ % picks.length] % keys.size;
+				int target = last + (picks[p++ % picks.length] % 1024);
+				if (!state.done[other] && target < state.current[other])
+				{
+					state.current[other] = target;
+					queue.add(((long) target << 32) | other);
+				}
+			}
+		}
+		return p;
+	}
+}
@@ -0,0 +1,56 @@
+package fibonacciheap;
+
+import java.util.Random;
+
+/**
+ * Distribution
+ *
+ * The key distributions of the benchmarks.
+ */
+public enum Distribution
+{
+	RANDOM, SORTED, REVERSE, DUPLICATES;
+
+	/**
+	 * int[] keys(int n, Random random)
+	 *
+	 * n keys of this distribution: random in [0, 2^30), ascending, descending, or random in [0, 16)
+	 */
+	int[] keys(int n, Random random)
+	{
+		int[] keys = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			switch (this)
+			{
+				case RANDOM: keys[i] = random.nextInt(1 << 30); break;
+				case SORTED: keys[i] = i; break;
+				case REVERSE: keys[i] = n - i; break;
+				default: keys[i] = random.nextInt(16); break; //DUPLICATES
+			}
+		}
+		return keys;
+	}
+
+	/**
+	 * static int[] permutation(int n, Random random)
+	 *
+	 * a random permutation of 0..n-1, the order in which a benchmark picks nodes
+	 */
+	static int[] permutation(int n, Random random)
+	{
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++)
+		{
+			order[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--)
+		{
+			int j = random.nextInt(i + 1);
+			int tmp = order[i];
+			order[i] = order[j];
+			order[j] = tmp;
+		}
+		return order;
+	}
+}
@@ -0,0 +1,149 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * EnginesBenchmark
+ *
+ * The same round (size inserts, a decreaseKey of every node, and size deleteMins) on a pooled FibonacciHeap
+ * and on the two HandleFibonacciHeap engines, whose operations call the storage accessors virtually.
+ * arrayBimorphic measures ArrayFibonacciHeap after rounds of both engines were run in its fork,
+ * when the accessor calls in AbstractHandleFibonacciHeap have seen both of them.
+ * The score is the time of a round of 3 * size operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview") //OffHeapFibonacciHeap uses the foreign memory API
+public class EnginesBenchmark
+{
+	private static final int MIXED_ROUNDS = 20; //rounds of each engine before arrayBimorphic, so the JIT profiles both
+
+	@State(Scope.Thread)
+	public static class Round
+	{
+		@Param({"1000000"})
+		public int size;
+
+		int[] keys;
+		int[] order; //the nodes decreaseKey works on
+		int[] deltas;
+		int[] handles;
+		FibonacciHeap<Void> fibonacci;
+		FibonacciHeap<Void>.HeapNode[] nodes;
+		FibonacciHeap.ArrayFibonacciHeap array;
+		OffHeapFibonacciHeap offHeap;
+
+		@Setup
+		@SuppressWarnings("unchecked")
+		public void setUp()
+		{
+			Random random = new Random(this.size);
+			this.keys = Distribution.RANDOM.keys(this.size, random);
+			this.order = Distribution.permutation(this.size, random);
+			this.deltas = new int[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				this.deltas[i] = (int) Math.min(1 + (i & 1023), (long) this.keys[i] - Integer.MIN_VALUE);
+			}
+			this.handles = new int[this.size];
+			this.fibonacci = new FibonacciHeap<>(true);
+			this.nodes = (FibonacciHeap<Void>.HeapNode[]) new FibonacciHeap<?>.HeapNode[this.size];
+			this.array = new FibonacciHeap.ArrayFibonacciHeap(this.size);
+			this.offHeap = new OffHeapFibonacciHeap();
+		}
+
+		@TearDown
+		public void close()
+		{
+			this.offHeap.close();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Mixed
+	{
+		@Setup
+		public void setUp(Round round)
+		{
+			for (int r = 0; r < MIXED_ROUNDS; r++)
+			{
+				handleRound(round.offHeap, round);
+				handleRound(round.array, round);
+			}
+		}
+	}
+
+	@Benchmark
+	public long fibonacci(Round round)
+	{
+		FibonacciHeap<Void> heap = round.fibonacci;
+		for (int i = 0; i < round.size; i++)
+		{
+			round.nodes[i] = heap.insert(round.keys[i]);
+		}
+		for (int i : round.order)
+		{
+			heap.decreaseKey(round.nodes[i], round.deltas[i]);
+		}
+		long sum = 0;
+		while (!heap.isEmpty())
+		{
+			sum += heap.findMin().key;
+			heap.deleteMin();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long array(Round round)
+	{
+		return handleRound(round.array, round);
+	}
+
+	@Benchmark
+	public long offHeap(Round round)
+	{
+		return handleRound(round.offHeap, round);
+	}
+
+	@Benchmark
+	public long arrayBimorphic(Round round, Mixed mixed)
+	{
+		return handleRound(round.array, round);
+	}
+
+	private static long handleRound(FibonacciHeap.HandleFibonacciHeap heap, Round round)
+	{
+		int[] handles = round.handles;
+		for (int i = 0; i < round.size; i++)
+		{
+			handles[i] = heap.insert(round.keys[i]);
+		}
+		for (int i : round.order)
+		{
+			heap.decreaseKey(handles[i], round.deltas[i]);
+		}
+		long sum = 0;
+		while (!heap.isEmpty())
+		{
+			sum += heap.getKey(heap.findMin());
+			heap.deleteMin();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,79 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ExternalBenchmark
+ *
+ * SpillingFibonacciQueue with a memory budget of budget keys on 10 * budget keys (inserting all of them,
+ * then deleting them all), against a pooled FibonacciHeap which holds them all.
+ * The score is the time of the 20 * budget operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExternalBenchmark
+{
+	@Param({"100000"})
+	public int budget;
+
+	private int[] keys;
+
+	@Setup
+	public void generate()
+	{
+		int size = Math.multiplyExact(this.budget, 10);
+		this.keys = Distribution.RANDOM.keys(size, new Random(size));
+	}
+
+	@Benchmark
+	public long fibonacci()
+	{
+		FibonacciHeap<Void> heap = new FibonacciHeap<>(true);
+		for (int key : this.keys)
+		{
+			heap.insert(key);
+		}
+		long sum = 0;
+		while (!heap.isEmpty())
+		{
+			sum += heap.findMin().key;
+			heap.deleteMin();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long spilling()
+	{
+		try (FibonacciHeap.SpillingFibonacciQueue queue = new FibonacciHeap.SpillingFibonacciQueue(this.budget))
+		{
+			for (int key : this.keys)
+			{
+				queue.insert(key);
+			}
+			long sum = 0;
+			while (!queue.isEmpty())
+			{
+				sum += queue.findMin();
+				queue.deleteMin();
+			}
+			return sum + queue.spilled();
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package fibonacciheap;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GraphBenchmark
+ *
+ * GraphSearch.dijkstra (from one random source) and GraphSearch.prim on random graphs, with FibonacciHeap and
+ * with PairingHeap, against the same algorithms with a binary heap of (key << 32 | vertex) entries, where
+ * a decreaseKey adds a new entry and the stale entries are skipped when polled.
+ * The score is the time of one search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GraphBenchmark
+{
+	@Param({"1000000"})
+	public int vertices;
+
+	@Param({"8"})
+	public int degree;
+
+	private FibonacciHeap.Graph directed;
+	private FibonacciHeap.Graph undirected;
+	private int[] sources;
+	private int next; //the index of the source of the next dijkstra
+	private FibonacciHeap.GraphSearch fibonacci;
+	private FibonacciHeap.GraphSearch pairing;
+	private FibonacciHeap.GraphSearch fibonacciTree;
+	private FibonacciHeap.GraphSearch pairingTree;
+	private LazyBinaryHeap queue;
+	private int[] distance;
+
+	@Setup
+	public void setUp()
+	{
+		this.directed = FibonacciHeap.Graph.random(this.vertices, this.degree, 1 << 16, false, this.vertices);
+		this.undirected = FibonacciHeap.Graph.random(this.vertices, this.degree / 2, 1 << 16, true, this.vertices);
+		this.sources = new Random(this.vertices).ints(4, 0, this.vertices).toArray();
+		this.fibonacci = new FibonacciHeap.GraphSearch(this.directed);
+		this.pairing = new FibonacciHeap.GraphSearch(this.directed, new FibonacciHeap.PairingHeap<>());
+		this.fibonacciTree = new FibonacciHeap.GraphSearch(this.undirected);
+		this.pairingTree = new FibonacciHeap.GraphSearch(this.undirected, new FibonacciHeap.PairingHeap<>());
+		this.queue = new LazyBinaryHeap(this.vertices);
+		this.distance = new int[this.vertices];
+	}
+
+	private int nextSource()
+	{
+		int source = this.sources[this.next];
+		this.next = (this.next + 1) % this.sources.length;
+		return source;
+	}
+
+	@Benchmark
+	public int dijkstraFibonacci()
+	{
+		this.fibonacci.dijkstra(nextSource());
+		return this.fibonacci.distance(this.vertices - 1);
+	}
+
+	@Benchmark
+	public int dijkstraPairing()
+	{
+		this.pairing.dijkstra(nextSource());
+		return this.pairing.distance(this.vertices - 1);
+	}
+
+	@Benchmark
+	public int dijkstraBinaryLazy()
+	{
+		lazyDijkstra(this.directed, nextSource(), this.queue, this.distance);
+		return this.distance[this.vertices - 1];
+	}
+
+	@Benchmark
+	public long primFibonacci()
+	{
+		return this.fibonacciTree.prim();
+	}
+
+	@Benchmark
+	public long primPairing()
+	{
+		return this.pairingTree.prim();
+	}
+
+	@Benchmark
+	public long primBinaryLazy()
+	{
+		return lazyPrim(this.undirected, this.queue, this.distance);
+	}
+
+	static void lazyDijkstra(FibonacciHeap.Graph graph, int source, LazyBinaryHeap queue, int[] distance)
+	{
+		boolean[] done = new boolean[distance.length];
+		Arrays.fill(distance, FibonacciHeap.GraphSearch.UNREACHABLE);
+		distance[source] = 0;
+		queue.add(0, source);
+		while (!queue.isEmpty())
+		{
+			long entry = queue.poll();
+			int v = (int) entry;
+			if (done[v]) //a stale entry
+			{
+				continue;
+			}
+			done[v] = true;
+			int d = (int) (entry >> 32);
+			for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++)
+			{
+				int w = graph.targets[e];
+				long candidate = (long) d + graph.weights[e];
+				if (!done[w] && candidate < distance[w])
+				{
+					distance[w] = (int) candidate;
+					queue.add((int) candidate, w);
+				}
+			}
+		}
+	}
+
+	static long lazyPrim(FibonacciHeap.Graph graph, LazyBinaryHeap queue, int[] weight)
+	{
+		int vertices = weight.length;
+		boolean[] done = new boolean[vertices];
+		Arrays.fill(weight, Integer.MAX_VALUE);
+		long total = 0;
+		for (int root = 0; root < vertices; root++)
+		{
+			if (done[root])
+			{
+				continue;
+			}
+			weight[root] = 0;
+			queue.add(Integer.MIN_VALUE, root);
+			while (!queue.isEmpty())
+			{
+				int v = (int) queue.poll();
+				if (done[v])
+				{
+					continue;
+				}
+				done[v] = true;
+				total += weight[v];
+				for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++)
+				{
+					int w = graph.targets[e];
+					if (!done[w] && graph.weights[e] < weight[w])
+					{
+						weight[w] = graph.weights[e];
+						queue.add(graph.weights[e], w);
+					}
+				}
+			}
+		}
+		return total;
+	}
+
+   /**
+    * static final class LazyBinaryHeap
+    *
+    * The baseline of the graph benchmark: an array binary heap of (key << 32 | vertex) entries,
+    * which has no decreaseKey - the graph algorithms add a new entry instead.
+    */
+	static final class LazyBinaryHeap
+	{
+		private long[] heap;
+		private int size;
+
+		LazyBinaryHeap(int capacity)
+		{
+			this.heap = new long[Math.max(1, capacity)];
+		}
+
+		boolean isEmpty()
+		{
+			return this.size == 0;
+		}
+
+		void add(int key, int vertex)
+		{
+			if (this.size == this.heap.length)
+			{
+				this.heap = Arrays.copyOf(this.heap, this.size * 2);
+			}
+			long entry = ((long) key << 32) | (vertex & 0xFFFFFFFFL);
+			int i = this.size++;
+			while (i > 0 && this.heap[(i - 1) >>> 1] > entry) //sift up
+			{
+				this.heap[i] = this.heap[(i - 1) >>> 1];
+				i = (i - 1) >>> 1;
+			}
+			this.heap[i] = entry;
+		}
+
+		long poll() //@pre: !isEmpty()
+		{
+			long min = this.heap[0];
+			long last = this.heap[--this.size];
+			int i = 0;
+			while (2 * i + 1 < this.size) //sift down
+			{
+				int child = 2 * i + 1;
+				if (child + 1 < this.size && this.heap[child + 1] < this.heap[child])
+				{
+					child++;
+				}
+				if (this.heap[child] >= last)
+				{
+					break;
+				}
+				this.heap[i] = this.heap[child];
+				i = child;
+			}
+			this.heap[i] = last;
+			return min;
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * HoldBenchmark
+ *
+ * A heap at a steady size: every operation is a deleteMin, an insert and a decreaseKey of a random node,
+ * on FibonacciHeap (plain, pooled, and pooled with a consolidation budget) and on ArrayFibonacciHeap.
+ * Nothing is built between the operations, so with -prof gc the allocation per operation is that of
+ * the heap itself: a node per insert for the plain FibonacciHeap, and none for the pooled engines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldBenchmark
+{
+	@State(Scope.Thread)
+	public static class Keys
+	{
+		@Param({"100000"})
+		public int size;
+
+		int[] keys;
+		int[] picks; //the nodes decreaseKey works on
+		int[] deltas;
+
+		@Setup
+		public void generate()
+		{
+			Random random = new Random(this.size);
+			this.keys = Distribution.RANDOM.keys(this.size, random);
+			this.picks = Distribution.permutation(this.size, random);
+			this.deltas = new int[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				this.deltas[i] = 1 + random.nextInt(1024);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Fibonacci
+	{
+		@Param({"plain", "pooled", "budget=16"})
+		public String engine;
+
+		FibonacciHeap<Integer> heap;
+		FibonacciHeap<Integer>.HeapNode[] nodes; //the node of every slot
+		Integer[] slots; //the value of a node is its slot, boxed once
+		int step;
+
+		@Setup
+		@SuppressWarnings("unchecked")
+		public void setUp(Keys keys)
+		{
+			this.heap = new FibonacciHeap<>(!this.engine.equals("plain"));
+			if (this.engine.equals("budget=16"))
+			{
+				this.heap.setConsolidationBudget(16);
+			}
+			this.nodes = (FibonacciHeap<Integer>.HeapNode[]) new FibonacciHeap<?>.HeapNode[keys.size];
+			this.slots = new Integer[keys.size];
+			for (int i = 0; i < keys.size; i++)
+			{
+				this.slots[i] = i;
+				this.nodes[i] = this.heap.insert(keys.keys[i], this.slots[i]);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Array
+	{
+		FibonacciHeap.ArrayFibonacciHeap heap;
+		int step;
+
+		@Setup
+		public void setUp(Keys keys)
+		{
+			this.heap = new FibonacciHeap.ArrayFibonacciHeap(keys.size);
+			for (int key : keys.keys) //the handles are the slots 0..size-1, deleteMin frees one for insert
+			{
+				this.heap.insert(key);
+			}
+		}
+	}
+
+	@Benchmark
+	public int fibonacci(Keys keys, Fibonacci state)
+	{
+		FibonacciHeap<Integer> heap = state.heap;
+		int i = state.step;
+		state.step = i + 1 == keys.size ? 0 : i + 1;
+		int slot = heap.findMin().getValue();
+		heap.deleteMin();
+		state.nodes[slot] = heap.insert(keys.keys[i], state.slots[slot]); //most likely the node deleteMin just freed
+		FibonacciHeap<Integer>.HeapNode node = state.nodes[keys.picks[i]];
+		heap.decreaseKey(node, Math.min(keys.deltas[i], node.key)); //the keys stay >= 0
+		return heap.findMin().key;
+	}
+
+	@Benchmark
+	public int array(Keys keys, Array state)
+	{
+		FibonacciHeap.ArrayFibonacciHeap heap = state.heap;
+		int i = state.step;
+		state.step = i + 1 == keys.size ? 0 : i + 1;
+		heap.deleteMin();
+		heap.insert(keys.keys[i]);
+		int handle = keys.picks[i];
+		heap.decreaseKey(handle, Math.min(keys.deltas[i], heap.getKey(handle))); //the keys stay >= 0
+		return heap.getKey(heap.findMin());
+	}
+}
@@ -0,0 +1,51 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * KMinBenchmark
+ *
+ * kMin with k = min(size, 1000) on a binomial tree of about size nodes.
+ * kMin doesn't change the heap, so every invocation is one kMin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KMinBenchmark
+{
+	@Param({"10000", "1000000"})
+	public int size;
+
+	private FibonacciHeap<Void> heap;
+	private int k;
+
+	@Setup
+	public void setUp()
+	{
+		int treeSize = Integer.highestOneBit(this.size);
+		this.k = Math.min(treeSize, 1000);
+		this.heap = FibonacciHeap.of(Distribution.RANDOM.keys(treeSize + 1, new Random(this.size)));
+		this.heap.deleteMin(); //2^m nodes are consolidated into a single binomial tree
+	}
+
+	@Benchmark
+	public int kMin()
+	{
+		return FibonacciHeap.kMin(this.heap, this.k)[this.k - 1];
+	}
+}
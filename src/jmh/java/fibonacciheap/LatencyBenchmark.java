@@ -0,0 +1,118 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LatencyBenchmark
+ *
+ * The latency distribution (p50 ... p99.99 and max, in the SampleTime output) of a single insert and
+ * a single deleteMin, with eager consolidation (budget 0) and with a few consolidation budgets.
+ * deleteMin drains a heap of size keys, which is filled again by a burst of inserts (not measured)
+ * when it is empty, so the samples include the first deleteMin after every burst. insert fills a heap
+ * up to size keys, which is then cleared (not measured).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyBenchmark
+{
+	@State(Scope.Thread)
+	public static class Keys
+	{
+		@Param({"100000"})
+		public int size;
+
+		@Param({"0", "4", "16", "64"})
+		public int budget;
+
+		int[] keys;
+
+		@Setup
+		public void generate()
+		{
+			this.keys = Distribution.RANDOM.keys(this.size, new Random(this.size));
+		}
+
+		FibonacciHeap<Void> newHeap()
+		{
+			FibonacciHeap<Void> heap = new FibonacciHeap<>(true);
+			heap.setConsolidationBudget(this.budget);
+			return heap;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Draining
+	{
+		FibonacciHeap<Void> heap;
+
+		@Setup
+		public void setUp(Keys keys)
+		{
+			this.heap = keys.newHeap();
+		}
+
+		@Setup(Level.Invocation)
+		public void refill(Keys keys)
+		{
+			if (this.heap.isEmpty()) //a burst
+			{
+				for (int key : keys.keys)
+				{
+					this.heap.insert(key);
+				}
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Filling
+	{
+		FibonacciHeap<Void> heap;
+		int next; //the index of the next key
+
+		@Setup
+		public void setUp(Keys keys)
+		{
+			this.heap = keys.newHeap();
+		}
+
+		@Setup(Level.Invocation)
+		public void empty(Keys keys)
+		{
+			if (this.next == keys.size)
+			{
+				this.heap.clear();
+				this.next = 0;
+			}
+		}
+	}
+
+	@Benchmark
+	public int deleteMin(Draining state)
+	{
+		state.heap.deleteMin();
+		return state.heap.size();
+	}
+
+	@Benchmark
+	public FibonacciHeap<Void>.HeapNode insert(Keys keys, Filling state)
+	{
+		return state.heap.insert(keys.keys[state.next++]);
+	}
+}
@@ -0,0 +1,139 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MonotoneBenchmark
+ *
+ * FibonacciHeap and RadixHeap on a monotone workload of size keys (a hold model): every operation is
+ * a deleteMin, an insert of a key above the deleted one, and a decreaseKey of a random node to a key
+ * that is not below the deleted one. The heaps keep size keys, so an operation is measured alone.
+ * The heaps are built again for every iteration, before their keys grow too large for an int.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonotoneBenchmark
+{
+	@State(Scope.Thread)
+	public static class Keys
+	{
+		@Param({"10000", "1000000"})
+		public int size;
+
+		int[] keys;
+		int[] steps; //the insert above the minimum, and the decreaseKey target above it
+		int[] picks;
+
+		@Setup
+		public void generate()
+		{
+			Random random = new Random(this.size);
+			this.keys = Distribution.RANDOM.keys(this.size, random);
+			this.steps = new int[this.size];
+			this.picks = new int[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				this.steps[i] = random.nextInt(1 << 16);
+				this.picks[i] = random.nextInt(this.size);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Fibonacci
+	{
+		FibonacciHeap<Integer> heap;
+		FibonacciHeap<Integer>.HeapNode[] nodes; //the node of every id
+		int step;
+
+		@Setup(Level.Iteration)
+		@SuppressWarnings("unchecked")
+		public void setUp(Keys keys)
+		{
+			this.heap = new FibonacciHeap<>(true);
+			this.step = 0;
+			this.nodes = (FibonacciHeap<Integer>.HeapNode[]) new FibonacciHeap<?>.HeapNode[keys.size];
+			for (int i = 0; i < keys.size; i++)
+			{
+				this.nodes[i] = this.heap.insert(keys.keys[i], i);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Radix
+	{
+		FibonacciHeap.RadixHeap<Integer> heap;
+		FibonacciHeap.RadixHeap.Node<Integer>[] nodes;
+		int step;
+
+		@Setup(Level.Iteration)
+		@SuppressWarnings("unchecked")
+		public void setUp(Keys keys)
+		{
+			this.heap = new FibonacciHeap.RadixHeap<>();
+			this.step = 0;
+			this.nodes = (FibonacciHeap.RadixHeap.Node<Integer>[]) new FibonacciHeap.RadixHeap.Node<?>[keys.size];
+			for (int i = 0; i < keys.size; i++)
+			{
+				this.nodes[i] = this.heap.insert(keys.keys[i], i);
+			}
+		}
+	}
+
+	@Benchmark
+	public int fibonacci(Keys keys, Fibonacci state)
+	{
+		FibonacciHeap<Integer> heap = state.heap;
+		int i = state.step;
+		state.step = i + 1 == keys.size ? 0 : i + 1;
+		FibonacciHeap<Integer>.HeapNode min = heap.findMin();
+		int last = min.key;
+		int id = min.getValue();
+		heap.deleteMin();
+		state.nodes[id] = heap.insert(last + keys.steps[i], id); //the id of the deleted node is reused
+		FibonacciHeap<Integer>.HeapNode node = state.nodes[keys.picks[i]];
+		int target = last + (keys.steps[i] >>> 1);
+		if (target < node.key)
+		{
+			heap.decreaseKey(node, node.key - target);
+		}
+		return heap.findMin().key;
+	}
+
+	@Benchmark
+	public int radix(Keys keys, Radix state)
+	{
+		FibonacciHeap.RadixHeap<Integer> heap = state.heap;
+		int i = state.step;
+		state.step = i + 1 == keys.size ? 0 : i + 1;
+		FibonacciHeap.RadixHeap.Node<Integer> min = heap.findMin();
+		int last = min.getKey();
+		int id = min.getValue();
+		heap.deleteMin();
+		state.nodes[id] = heap.insert(last + keys.steps[i], id);
+		FibonacciHeap.RadixHeap.Node<Integer> node = state.nodes[keys.picks[i]];
+		int target = last + (keys.steps[i] >>> 1);
+		if (target < node.getKey())
+		{
+			heap.decreaseKey(node, node.getKey() - target);
+		}
+		return heap.findMin().getKey();
+	}
+}
@@ -0,0 +1,224 @@
+package fibonacciheap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * OperationsBenchmark
+ *
+ * insert, deleteMin, decreaseKey, delete and meld of FibonacciHeap, and insert, poll and the lazy
+ * (re-insert) decreaseKey of java.util.PriorityQueue on the same keys, for every key distribution.
+ * Every invocation is a batch on a heap built before it (not measured): size inserts, deleteMins or
+ * decreaseKeys, size/2 deletes, or size/1000 melds of heaps of 1000 keys. The score is the time of
+ * the batch, so the time per operation is the score divided by the batch length.
+ * The allocation -prof gc reports for these batches includes the heap built before each of them;
+ * HoldBenchmark measures the allocation of a heap at a steady size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationsBenchmark
+{
+	@State(Scope.Thread)
+	public static class Keys
+	{
+		@Param({"10000", "1000000"})
+		public int size;
+
+		@Param
+		public Distribution distribution;
+
+		int[] keys;
+		int[] order; //the nodes decreaseKey and delete work on
+		Integer[] boxed;
+
+		@Setup
+		public void generate()
+		{
+			Random random = new Random(this.size);
+			this.keys = this.distribution.keys(this.size, random);
+			this.order = Distribution.permutation(this.size, random);
+			this.boxed = new Integer[this.size];
+			for (int i = 0; i < this.size; i++)
+			{
+				this.boxed[i] = this.keys[i];
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Empty
+	{
+		FibonacciHeap<Void> heap;
+		PriorityQueue<Integer> queue;
+
+		@Setup(Level.Invocation)
+		public void setUp()
+		{
+			this.heap = new FibonacciHeap<>();
+			this.queue = new PriorityQueue<>();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Loaded //the keys inserted, and not consolidated yet
+	{
+		FibonacciHeap<Void> heap;
+		PriorityQueue<Integer> queue;
+
+		@Setup(Level.Invocation)
+		public void setUp(Keys keys)
+		{
+			this.heap = FibonacciHeap.of(keys.keys);
+			this.queue = new PriorityQueue<>(Arrays.asList(keys.boxed));
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Consolidated //the keys inserted, and consolidated into trees by a deleteMin
+	{
+		FibonacciHeap<Void> heap;
+		List<FibonacciHeap<Void>.HeapNode> nodes;
+
+		@Setup(Level.Invocation)
+		public void setUp(Keys keys)
+		{
+			this.heap = new FibonacciHeap<>();
+			this.nodes = new ArrayList<>(keys.size);
+			for (int key : keys.keys)
+			{
+				this.nodes.add(this.heap.insert(key));
+			}
+			this.heap.insert(Integer.MIN_VALUE);
+			this.heap.deleteMin();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Parts
+	{
+		List<FibonacciHeap<Void>> heaps;
+
+		@Setup(Level.Invocation)
+		public void setUp(Keys keys)
+		{
+			int size = keys.size;
+			int parts = Math.max(1, size / 1000);
+			this.heaps = new ArrayList<>(parts);
+			for (int p = 0; p < parts; p++)
+			{
+				this.heaps.add(FibonacciHeap.of(Arrays.copyOfRange(keys.keys, p * size / parts, (p + 1) * size / parts)));
+			}
+		}
+	}
+
+	@Benchmark
+	public int fibonacciInsert(Keys keys, Empty empty)
+	{
+		FibonacciHeap<Void> heap = empty.heap;
+		for (int key : keys.keys)
+		{
+			heap.insert(key);
+		}
+		return heap.size();
+	}
+
+	@Benchmark
+	public long fibonacciDeleteMin(Loaded loaded)
+	{
+		FibonacciHeap<Void> heap = loaded.heap;
+		long sum = 0;
+		while (!heap.isEmpty())
+		{
+			sum += heap.findMin().key;
+			heap.deleteMin();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int fibonacciDecreaseKey(Keys keys, Consolidated consolidated)
+	{
+		FibonacciHeap<Void> heap = consolidated.heap;
+		for (int i : keys.order)
+		{
+			FibonacciHeap<Void>.HeapNode node = consolidated.nodes.get(i);
+			heap.decreaseKey(node, (int) Math.min(1 + (i & 1023), (long) node.key - Integer.MIN_VALUE - 1));
+		}
+		return heap.findMin().key;
+	}
+
+	@Benchmark
+	public int fibonacciDelete(Keys keys, Consolidated consolidated)
+	{
+		FibonacciHeap<Void> heap = consolidated.heap;
+		for (int i = 0; i < keys.size / 2; i++)
+		{
+			heap.delete(consolidated.nodes.get(keys.order[i]));
+		}
+		return heap.size();
+	}
+
+	@Benchmark
+	public int fibonacciMeld(Parts parts)
+	{
+		FibonacciHeap<Void> heap = new FibonacciHeap<>();
+		for (FibonacciHeap<Void> other : parts.heaps)
+		{
+			heap.meld(other);
+		}
+		return heap.size();
+	}
+
+	@Benchmark
+	public int priorityQueueInsert(Keys keys, Empty empty)
+	{
+		PriorityQueue<Integer> queue = empty.queue;
+		for (Integer key : keys.boxed)
+		{
+			queue.add(key);
+		}
+		return queue.size();
+	}
+
+	@Benchmark
+	public long priorityQueueDeleteMin(Loaded loaded)
+	{
+		PriorityQueue<Integer> queue = loaded.queue;
+		long sum = 0;
+		while (!queue.isEmpty())
+		{
+			sum += queue.poll();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int priorityQueueDecreaseKey(Keys keys, Loaded loaded)
+	{
+		PriorityQueue<Integer> queue = loaded.queue;
+		for (int i : keys.order) //a PriorityQueue can't find an element, so the new key is added
+		{
+			queue.add((int) Math.max(Integer.MIN_VALUE, (long) keys.keys[i] - 1 - (i & 1023)));
+		}
+		return queue.size();
+	}
+}
@@ -0,0 +1,100 @@
+package fibonacciheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PartitionsBenchmark
+ *
+ * A global ordered drain of size keys spread over 64 consolidated partitions: melding them into one heap
+ * and draining it (the first deleteMin consolidates all the partitions), against MergedFibonacciQueue
+ * over the partitions. The score is the time of the drain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionsBenchmark
+{
+	private static final int PARTITIONS = 64;
+
+	@State(Scope.Thread)
+	public static class Partitions
+	{
+		@Param({"10000", "1000000"})
+		public int size;
+
+		int[] keys;
+		List<FibonacciHeap<Void>> heaps;
+
+		@Setup
+		public void generate()
+		{
+			this.keys = Distribution.RANDOM.keys(this.size, new Random(this.size));
+		}
+
+		@Setup(Level.Invocation)
+		public void setUp()
+		{
+			this.heaps = new ArrayList<>(PARTITIONS);
+			for (int p = 0; p < PARTITIONS; p++)
+			{
+				this.heaps.add(new FibonacciHeap<>(true));
+			}
+			for (int i = 0; i < this.size; i++)
+			{
+				this.heaps.get(i % PARTITIONS).insert(this.keys[i]);
+			}
+			for (FibonacciHeap<Void> heap : this.heaps) //every partition was consolidated by its own consumer
+			{
+				heap.insert(Integer.MIN_VALUE);
+				heap.deleteMin();
+			}
+		}
+	}
+
+	@Benchmark
+	public long meld(Partitions partitions)
+	{
+		FibonacciHeap<Void> all = partitions.heaps.get(0);
+		for (int p = 1; p < PARTITIONS; p++)
+		{
+			all.meld(partitions.heaps.get(p));
+		}
+		long sum = 0;
+		while (!all.isEmpty())
+		{
+			sum += all.findMin().key;
+			all.deleteMin();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long mergedView(Partitions partitions)
+	{
+		FibonacciHeap.MergedFibonacciQueue<Void> view = new FibonacciHeap.MergedFibonacciQueue<>(partitions.heaps);
+		long sum = 0;
+		while (!view.isEmpty())
+		{
+			sum += view.findMin().key;
+			view.deleteMin();
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,78 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * QueriesBenchmark
+ *
+ * Short dijkstra queries on a random graph of 8 edges per vertex, from a random source to the end of
+ * a random edge of the source: a new GraphSearch for every query, against one GraphSearch which clears
+ * its heap and starts a new epoch of its tables. The score is the time of one query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueriesBenchmark
+{
+	private static final int QUERIES = 1_000; //num of distinct queries, which are run in turn
+
+	@Param({"1000000"})
+	public int vertices;
+
+	private FibonacciHeap.Graph graph;
+	private int[] sources;
+	private int[] targets;
+	private int next; //the index of the next query
+	private FibonacciHeap.GraphSearch search;
+
+	@Setup
+	public void setUp()
+	{
+		this.graph = FibonacciHeap.Graph.random(this.vertices, 8, 1 << 16, false, this.vertices);
+		Random random = new Random(this.vertices);
+		this.sources = new int[QUERIES];
+		this.targets = new int[QUERIES];
+		for (int q = 0; q < QUERIES; q++)
+		{
+			int v = random.nextInt(this.vertices);
+			this.sources[q] = v;
+			int degree = this.graph.offsets[v + 1] - this.graph.offsets[v];
+			this.targets[q] = this.graph.targets[this.graph.offsets[v] + random.nextInt(degree)];
+		}
+		this.search = new FibonacciHeap.GraphSearch(this.graph);
+	}
+
+	@Benchmark
+	public int fresh()
+	{
+		int q = this.next;
+		this.next = (q + 1) % QUERIES;
+		FibonacciHeap.GraphSearch search = new FibonacciHeap.GraphSearch(this.graph);
+		search.dijkstra(this.sources[q], this.targets[q]);
+		return search.distance(this.targets[q]);
+	}
+
+	@Benchmark
+	public int reused()
+	{
+		int q = this.next;
+		this.next = (q + 1) % QUERIES;
+		this.search.dijkstra(this.sources[q], this.targets[q]);
+		return this.search.distance(this.targets[q]);
+	}
+}
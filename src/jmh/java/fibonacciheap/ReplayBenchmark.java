@@ -0,0 +1,95 @@
+package fibonacciheap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ReplayBenchmark
+ *
+ * Replays a recorded trace (see FibonacciHeap.startRecording) on an engine: FibonacciHeap, pooled,
+ * pooled with a consolidation budget of 16, and PairingHeap. The trace is the file given by -p trace=...,
+ * or, by default, the operations of dijkstra on a random graph of 100000 vertices.
+ * The score is the time of one replay of the whole trace.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark
+{
+	@Param({""})
+	public String trace;
+
+	@Param({"fibonacci", "pooled", "budget=16", "pairing"})
+	public String engine;
+
+	private FibonacciHeap.TraceReplay replay;
+	private Supplier<AddressablePriorityQueue<int[], ?>> heaps;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		Path path = this.trace.isEmpty() ? recordDijkstra(100_000, 8) : Path.of(this.trace);
+		try (InputStream in = Files.newInputStream(path))
+		{
+			this.replay = FibonacciHeap.TraceReplay.read(in);
+		}
+		switch (this.engine)
+		{
+			case "fibonacci": this.heaps = () -> new FibonacciHeap<>(); break;
+			case "pooled": this.heaps = () -> new FibonacciHeap<>(true); break;
+			case "budget=16":
+				this.heaps = () -> {
+					FibonacciHeap<int[]> heap = new FibonacciHeap<>(true);
+					heap.setConsolidationBudget(16);
+					return heap;
+				};
+				break;
+			case "pairing": this.heaps = () -> new FibonacciHeap.PairingHeap<>(); break;
+			default: throw new IllegalArgumentException("unknown engine " + this.engine);
+		}
+	}
+
+	@Benchmark
+	public FibonacciHeap.TraceReplay.Result replay()
+	{
+		return this.replay.replay(this.heaps);
+	}
+
+    /**
+     * static Path recordDijkstra(int vertices, int degree)
+     *
+     * records the heap operations of dijkstra on a random graph into a temporary trace file
+     */
+	static Path recordDijkstra(int vertices, int degree) throws IOException
+	{
+		Path trace = Files.createTempFile("fibonacci-dijkstra", ".trace");
+		trace.toFile().deleteOnExit();
+		FibonacciHeap<Integer> heap = new FibonacciHeap<>(true);
+		try (OutputStream out = Files.newOutputStream(trace))
+		{
+			heap.startRecording(out);
+			new FibonacciHeap.GraphSearch(FibonacciHeap.Graph.random(vertices, degree, 1000, false, vertices), heap).dijkstra(0);
+			heap.stopRecording();
+		}
+		return trace;
+	}
+}
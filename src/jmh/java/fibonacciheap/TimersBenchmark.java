@@ -0,0 +1,217 @@
+package fibonacciheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TimersBenchmark
+ *
+ * TimerService and ScheduledThreadPoolExecutor with pending timers: scheduling them, rescheduling random
+ * timers (9 of 10 later, like a renewed timeout, and 1 of 10 earlier), and cancelling them all in a random order.
+ * Firing is measured for TimerService only, since the executor fires on the wall clock.
+ * The score is the time of a batch of pending operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimersBenchmark
+{
+	private static final long HOUR = TimeUnit.HOURS.toNanos(1); //the timers are at least this far, so none fires
+	private static final Runnable TASK = () -> {};
+
+	@State(Scope.Thread)
+	public static class Deadlines
+	{
+		@Param({"100000", "1000000"})
+		public int pending;
+
+		long[] deadlines;
+		int[] picks; //the timers reschedule works on
+		long[] moves;
+		int[] order; //the order of cancel
+
+		@Setup
+		public void generate()
+		{
+			Random random = new Random(this.pending);
+			this.deadlines = new long[this.pending];
+			this.picks = new int[this.pending];
+			this.moves = new long[this.pending];
+			for (int i = 0; i < this.pending; i++)
+			{
+				this.deadlines[i] = HOUR + random.nextInt(1 << 30);
+				this.picks[i] = random.nextInt(this.pending);
+				this.moves[i] = random.nextInt(10) == 0 ? -random.nextInt(1 << 20) : random.nextInt(1 << 30);
+			}
+			this.order = Distribution.permutation(this.pending, random);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Service
+	{
+		FibonacciHeap.TimerService<Integer> service;
+
+		@Setup(Level.Invocation)
+		public void setUp()
+		{
+			this.service = new FibonacciHeap.TimerService<>();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Scheduled //the timers scheduled, and their heap consolidated as it is after timers fired
+	{
+		FibonacciHeap.TimerService<Integer> service;
+		List<FibonacciHeap.TimerService.Timer<Integer>> timers;
+
+		@Setup(Level.Invocation)
+		public void setUp(Deadlines deadlines)
+		{
+			this.service = new FibonacciHeap.TimerService<>();
+			this.timers = new ArrayList<>(deadlines.pending);
+			for (int i = 0; i < deadlines.pending; i++)
+			{
+				this.timers.add(this.service.schedule(deadlines.deadlines[i], i));
+			}
+			this.service.schedule(0, -1);
+			this.service.advanceTo(0, value -> {});
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Executor
+	{
+		ScheduledThreadPoolExecutor executor;
+
+		@Setup(Level.Invocation)
+		public void setUp()
+		{
+			this.executor = new ScheduledThreadPoolExecutor(1);
+		}
+
+		@TearDown(Level.Invocation)
+		public void shutDown()
+		{
+			this.executor.shutdownNow();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ExecutorScheduled
+	{
+		ScheduledThreadPoolExecutor executor;
+		List<ScheduledFuture<?>> futures;
+		long[] current; //the deadline of every future
+
+		@Setup(Level.Invocation)
+		public void setUp(Deadlines deadlines)
+		{
+			this.executor = new ScheduledThreadPoolExecutor(1);
+			this.executor.setRemoveOnCancelPolicy(true); //a cancelled task leaves the queue, like cancel of TimerService
+			this.futures = new ArrayList<>(deadlines.pending);
+			this.current = deadlines.deadlines.clone();
+			for (int i = 0; i < deadlines.pending; i++)
+			{
+				this.futures.add(this.executor.schedule(TASK, this.current[i], TimeUnit.NANOSECONDS));
+			}
+		}
+
+		@TearDown(Level.Invocation)
+		public void shutDown()
+		{
+			this.executor.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	public int timerServiceSchedule(Deadlines deadlines, Service state)
+	{
+		for (int i = 0; i < deadlines.pending; i++)
+		{
+			state.service.schedule(deadlines.deadlines[i], i);
+		}
+		return state.service.size();
+	}
+
+	@Benchmark
+	public long timerServiceReschedule(Deadlines deadlines, Scheduled state)
+	{
+		for (int i = 0; i < deadlines.pending; i++)
+		{
+			FibonacciHeap.TimerService.Timer<Integer> timer = state.timers.get(deadlines.picks[i]);
+			state.service.reschedule(timer, timer.getDeadline() + deadlines.moves[i]);
+		}
+		return state.service.nextDeadline();
+	}
+
+	@Benchmark
+	public int timerServiceCancel(Deadlines deadlines, Scheduled state)
+	{
+		for (int i : deadlines.order)
+		{
+			state.service.cancel(state.timers.get(i));
+		}
+		return state.service.size();
+	}
+
+	@Benchmark
+	public long timerServiceAdvanceTo(Scheduled state)
+	{
+		long[] sum = new long[1];
+		state.service.advanceTo(Long.MAX_VALUE, value -> sum[0] += value); //fires every timer
+		return sum[0];
+	}
+
+	@Benchmark
+	public int executorSchedule(Deadlines deadlines, Executor state)
+	{
+		for (int i = 0; i < deadlines.pending; i++)
+		{
+			state.executor.schedule(TASK, deadlines.deadlines[i], TimeUnit.NANOSECONDS);
+		}
+		return state.executor.getQueue().size();
+	}
+
+	@Benchmark
+	public int executorReschedule(Deadlines deadlines, ExecutorScheduled state)
+	{
+		for (int i = 0; i < deadlines.pending; i++) //the executor reschedules by cancel and schedule
+		{
+			int pick = deadlines.picks[i];
+			state.futures.get(pick).cancel(false);
+			state.current[pick] += deadlines.moves[i];
+			state.futures.set(pick, state.executor.schedule(TASK, state.current[pick], TimeUnit.NANOSECONDS));
+		}
+		return state.executor.getQueue().size();
+	}
+
+	@Benchmark
+	public int executorCancel(Deadlines deadlines, ExecutorScheduled state)
+	{
+		for (int i : deadlines.order)
+		{
+			state.futures.get(i).cancel(false);
+		}
+		return state.executor.getQueue().size();
+	}
+}
@@ -0,0 +1,92 @@
+package fibonacciheap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TopKBenchmark
+ *
+ * A rolling top k (k = 1000) of a stream of size keys: inserting the whole stream into a FibonacciHeap
+ * and calling kMin every size/10 keys, against BoundedTopK. The score is the time of the whole stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKBenchmark
+{
+	private static final int K = 1000;
+
+	@State(Scope.Thread)
+	public static class Stream
+	{
+		@Param({"10000", "1000000"})
+		public int size;
+
+		int[] keys;
+		int period; //num of keys between two reads of the top k
+		FibonacciHeap<Void> heap;
+		FibonacciHeap.BoundedTopK top;
+
+		@Setup
+		public void generate()
+		{
+			this.keys = Distribution.RANDOM.keys(this.size, new Random(this.size));
+			this.period = Math.max(1, this.size / 10);
+		}
+
+		@Setup(Level.Invocation)
+		public void setUp()
+		{
+			this.heap = new FibonacciHeap<>(true);
+			this.top = new FibonacciHeap.BoundedTopK(K);
+		}
+	}
+
+	@Benchmark
+	public long fibonacci(Stream stream)
+	{
+		FibonacciHeap<Void> heap = stream.heap;
+		long sum = 0;
+		for (int i = 0; i < stream.size; i++)
+		{
+			heap.insert(stream.keys[i]);
+			if ((i + 1) % stream.period == 0)
+			{
+				int[] top = FibonacciHeap.kMin(heap, K);
+				sum += top[top.length - 1];
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long bounded(Stream stream)
+	{
+		FibonacciHeap.BoundedTopK top = stream.top;
+		long sum = 0;
+		for (int i = 0; i < stream.size; i++)
+		{
+			top.offer(stream.keys[i]);
+			if ((i + 1) % stream.period == 0)
+			{
+				int[] sorted = top.sorted();
+				sum += sorted[sorted.length - 1];
+			}
+		}
+		return sum;
+	}
+}
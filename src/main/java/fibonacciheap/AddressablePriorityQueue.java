@@ -0,0 +1,83 @@
+package fibonacciheap;
+
+/**
+ * AddressablePriorityQueue
+ *
+ * A min priority queue over int keys whose insert returns a handle (of type H) to the new node,
+ * which is later passed to decreaseKey and delete. Every node also holds a value of type V.
+ * Code written against this interface can switch between the engines (FibonacciHeap.PairingHeap
+ * and FibonacciHeap itself) by choosing which one to construct.
+ */
+public interface AddressablePriorityQueue<V, H>
+{
+   /**
+    * H insert(int key, V value)
+    *
+    * Creates a node with the given key and value, inserts it and returns its handle.
+    */
+	H insert(int key, V value);
+
+	default H insert(int key)
+	{
+		return insert(key, null);
+	}
+
+   /**
+    * H findMin()
+    *
+    * Returns the handle of the node whose key is minimal, or null if the queue is empty.
+    */
+	H findMin();
+
+   /**
+    * void deleteMin()
+    *
+    * Deletes the node whose key is minimal (does nothing if the queue is empty).
+    */
+	void deleteMin();
+
+   /**
+    * void decreaseKey(H handle, int delta)
+    *
+    * Decreases the key of the node by delta (which should not be negative).
+    */
+	void decreaseKey(H handle, int delta);
+
+   /**
+    * void delete(H handle)
+    *
+    * Deletes the node from the queue.
+    */
+	void delete(H handle);
+
+   /**
+    * void meld(AddressablePriorityQueue<V, H> other)
+    *
+    * Moves all the nodes of other, which must be of the same engine, into this queue.
+    * other is left empty. Melding a queue with itself does nothing.
+    */
+	void meld(AddressablePriorityQueue<V, H> other);
+
+   /**
+    * void clear()
+    *
+    * Deletes all the nodes. Their handles must not be used afterwards (a FibonacciHeap rejects them).
+    */
+	void clear();
+
+	int size();
+
+	default boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+   /**
+    * int key(H handle) / V value(H handle)
+    *
+    * Return the key and the value of a node which is in the queue.
+    */
+	int key(H handle);
+
+	V value(H handle);
+}
@@ -0,0 +1,7004 @@
+package fibonacciheap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * FibonacciHeap
+ *
+ * An implementation of fibonacci heap over integers.
+ * Every node may also hold a value of type V, which is returned with it by findMin().
+ * The heaps whose nodes are int handles (HandleFibonacciHeap, LongFibonacciHeap, DoubleFibonacciHeap)
+ * share one copy of the algorithm, AbstractHandleFibonacciHeap, which should be kept in sync with
+ * this one.
+ */
+public class FibonacciHeap<V> implements AddressablePriorityQueue<V, FibonacciHeap<V>.HeapNode>
+{
+	//num of links and cuts we performed over all the program runtime, by every thread (the heaps
+	//of ConcurrentFibonacciHeap link and cut concurrently), summed when they are read
+	static final LongAdder links = new LongAdder();
+	static final LongAdder cuts = new LongAdder();
+	private static final int MAX_RANK = 46; //the rank of a node is at most log_phi(Integer.MAX_VALUE) < 46
+	private static final int SNAPSHOT_MAGIC = 0x48424946; //"FIBH" in little-endian order
+	private static final int SNAPSHOT_VERSION = 1;
+	private static final int SNAPSHOT_HEADER = 24; //magic, version, n, numOfTrees, numOfMarked, minIndex
+	
+	private HeapNode min; // the node with the minimal key in the heap
+	private HeapNode first; // the first node in the heap
+	private int n; // num of nodes in the heap
+	private int numOfTrees; // num of trees in the heap
+	private int numOfMarked; //num of marked nodes
+	private final boolean pooled; //notes if deleted nodes are kept for reuse
+	private HeapNode pool; //the first deleted node kept for reuse (the pool is chained by next)
+	private HeapNode cleared; //the roots of the trees deleted by clear() which weren't reused yet (a circular list, if pooled)
+	private Epoch epoch; //the epoch of the nodes of the heap, whose generation clear() bumps
+	private HeapNode[] buckets; //buckets for consolidate, reused between calls (all null between calls if budget == 0)
+	private int budget; //max consolidation steps per operation, 0 if deleteMin consolidates eagerly
+	private int pending; //num of roots at the front of the root list which are not in buckets yet (if budget > 0)
+	private HeapMetrics metrics; //the metrics of this heap, null when they are disabled
+	private TraceRecorder recorder; //records the operations of this heap, null when it isn't recording
+	
+	
+	public FibonacciHeap() //default constructor (puts null/0 where needed)
+	{
+		this(false);
+	}
+	
+   /**
+    * public FibonacciHeap(boolean pooled)
+    *
+    * Creates an empty heap. If pooled is true, nodes removed by deleteMin/delete are kept
+    * and reused by later inserts, so a heap at a steady size does not allocate.
+    * In that mode a node must not be used after it was deleted, since it may already
+    * hold another key.
+    * complexity: O(1)
+    */
+	public FibonacciHeap(boolean pooled)
+	{
+		this.pooled = pooled;
+		this.epoch = new Epoch();
+	}
+
+   /**
+    * private FibonacciHeap(FibonacciHeap<V> heap)
+    *
+    * Creates an empty heap (not pooled) whose nodes share the epoch of heap, so melding it into heap
+    * doesn't forward its epoch (the insertion buffers of ConcurrentFibonacciHeap are melded over and over).
+    * clear() must not be called on either of them while the other holds nodes.
+    * complexity: O(1)
+    */
+	private FibonacciHeap(FibonacciHeap<V> heap)
+	{
+		this.pooled = false;
+		this.epoch = heap.epoch;
+	}
+	
+
+   /**
+    * public boolean isEmpty()
+    *
+    * precondition: none
+    * 
+    * The method returns true if and only if the heap
+    * is empty.
+    * complexity: O(1)  
+    */
+    @Override
+    public boolean isEmpty()
+    {
+    	return (this.n == 0);
+    }
+		
+   /**
+    * public HeapNode insert(int key)
+    *
+    * Creates a node (of type HeapNode) which contains the given key, and inserts it into the heap. 
+    * complexity: O(1)  
+    */
+    @Override
+    public HeapNode insert(int key)
+    { 
+    	return insert(key, null);
+    }
+
+   /**
+    * public HeapNode insert(int key, V value)
+    *
+    * Creates a node (of type HeapNode) which contains the given key and value, and inserts it into the heap. 
+    * complexity: O(1)  
+    */
+    @Override
+    public HeapNode insert(int key, V value)
+    { 
+    	HeapNode node;
+    	if(this.isEmpty())
+    	{
+    		node = newNode(key, null , null); //create a new node, make it first
+    		node.prev = node;
+    		node.next = node;
+    		this.min = node;
+    	}
+    	else
+    	{   //add a new node to the beginning of the root list (make the node first):
+    		node = newNode(key, this.first.prev, this.first); 
+    		this.first.prev = node;
+    		node.prev.next = node;
+    		if(key < this.min.key) //update min if necessary 
+    		{
+    			this.min = node;
+    		}
+    	}
+    	node.value = value;
+    	//update fields:
+    	this.first = node;
+    	this.n = this.n + 1;
+    	this.numOfTrees =this.numOfTrees + 1;
+    	if (this.budget > 0) //node is a pending root
+    	{
+    		this.pending++;
+    		settle(1);
+    	}
+    	if (this.recorder != null)
+    	{
+    		this.recorder.inserted(node);
+    	}
+    	return node; 
+    }
+
+   /**
+    * public static <V> FibonacciHeap<V> of(int[] keys)
+    *
+    * Creates a heap which contains all the given keys. 
+    * complexity: O(keys.length)
+    */
+    public static <V> FibonacciHeap<V> of(int[] keys)
+    {
+    	FibonacciHeap<V> heap = new FibonacciHeap<>();
+    	heap.insertAll(keys, 0, keys.length);
+    	return heap;
+    }
+
+   /**
+    * public void insertAll(int[] keys, int from, int to)
+    *
+    * Inserts the keys keys[from], ..., keys[to-1] into the heap, each as a new tree. 
+    * The new roots are linked to each other first and then added to the root list at once.
+    * complexity: O(to - from)
+    */
+    public void insertAll(int[] keys, int from, int to)
+    {
+    	Objects.checkFromToIndex(from, to, keys.length);
+    	if (from == to)
+    	{
+    		return;
+    	}
+    	if (this.recorder != null) //every node is recorded on its own
+    	{
+    		for (int i = from; i < to; i++)
+    		{
+    			insert(keys[i]);
+    		}
+    		return;
+    	}
+    	HeapNode head = newNode(keys[from], null, null);
+    	HeapNode tail = head;
+    	HeapNode localMin = head;
+    	for (int i = from + 1; i < to; i++) //link the new nodes into a list
+    	{
+    		HeapNode node = newNode(keys[i], tail, null);
+    		tail.next = node;
+    		tail = node;
+    		if (node.key < localMin.key)
+    		{
+    			localMin = node;
+    		}
+    	}
+    	
+    	if (this.isEmpty()) //the new list is the whole root list
+    	{
+    		tail.next = head;
+    		head.prev = tail;
+    		this.min = localMin;
+    	}
+    	else //add the new list to the beginning of the root list
+    	{
+    		HeapNode last = this.first.prev;
+    		last.next = head;
+    		head.prev = last;
+    		tail.next = this.first;
+    		this.first.prev = tail;
+    		if (localMin.key < this.min.key) //update min if necessary
+    		{
+    			this.min = localMin;
+    		}
+    	}
+    	this.first = head;
+    	this.n = this.n + (to - from);
+    	this.numOfTrees = this.numOfTrees + (to - from);
+    	if (this.budget > 0) //the new nodes are pending roots
+    	{
+    		this.pending = this.pending + (to - from);
+    		settle(to - from);
+    	}
+    }
+
+    /**
+     * private HeapNode newNode(int key, HeapNode prev, HeapNode next)
+     *
+     * returns a root node with the given key, of the current generation, taken from the pool
+     * or else from the trees deleted by clear() if possible
+     * complexity: O(1)
+     */
+    private HeapNode newNode(int key, HeapNode prev, HeapNode next)
+    {
+    	HeapNode node = this.pool;
+    	if (node != null)
+    	{
+    		this.pool = node.next;
+    	}
+    	else if (this.cleared != null)
+    	{
+    		node = takeCleared();
+    	}
+    	else
+    	{
+    		return new HeapNode(key, prev, next, null);
+    	}
+    	node.key = key;
+    	node.prev = prev;
+    	node.next = next;
+    	node.epoch = this.epoch;
+    	node.generation = this.epoch.generation;
+    	return node;
+    }
+
+    /**
+     * private HeapNode takeCleared()
+     *
+     * @pre: cleared != null
+     * removes a root from the trees deleted by clear(), whose sons become roots of them in its place,
+     * and returns it reset like a deleted node - so clear() doesn't walk the trees, newNode unfolds them lazily
+     * complexity: O(1)
+     */
+    private HeapNode takeCleared()
+    {
+    	HeapNode x = this.cleared;
+    	HeapNode rest = null; //the other roots
+    	if (x.next != x)
+    	{
+    		rest = x.next;
+    		x.prev.next = rest;
+    		rest.prev = x.prev;
+    	}
+    	if (x.child != null)
+    	{
+    		rest = rest == null ? x.child : concat(rest, x.child);
+    	}
+    	this.cleared = rest;
+    	x.rank = 0;
+    	x.mark = false;
+    	x.child = null;
+    	x.parent = null;
+    	x.value = null;
+    	return x;
+    }
+
+    /**
+     * private void recycle(HeapNode x)
+     *
+     * keeps the deleted node x for reuse if the heap is pooled
+     * complexity: O(1)
+     */
+    private void recycle(HeapNode x)
+    {
+    	if (this.pooled)
+    	{
+    		x.rank = 0;
+    		x.mark = false;
+    		x.child = null;
+    		x.parent = null;
+    		x.prev = null;
+    		x.value = null;
+    		x.next = this.pool;
+    		this.pool = x;
+    	}
+    }
+
+   /**
+    * public void deleteMin()
+    *
+    * Delete the node containing the minimum key.
+    * complexity: O(n)
+    */
+    @Override
+    public void deleteMin()
+    {
+    	if (this.recorder != null && !this.isEmpty())
+    	{
+    		this.recorder.removed(TraceRecorder.DELETE_MIN, this.min);
+    	}
+    	measuredRemoveMin();
+    }
+
+    /**
+     * private void measuredRemoveMin()
+     *
+     * removeMin, measured if the metrics are enabled
+     * complexity: O(n)
+     */
+    private void measuredRemoveMin()
+    {
+    	if (this.metrics == null) //metrics are disabled, nothing to measure
+    	{
+    		removeMin();
+    		return;
+    	}
+    	long start = System.nanoTime();
+    	removeMin();
+    	this.metrics.deleteMinDone(start);
+    }
+
+    /**
+     * private void removeMin()
+     *
+     * the work of deleteMin
+     * complexity: O(n)
+     */
+    private void removeMin()
+    {
+    	if (this.budget > 0 && !this.isEmpty())
+    	{
+    		removeMinIncrementally();
+    		return;
+    	}
+    	if (!this.isEmpty()) {
+    		HeapNode x = this.min;
+    		if (x == x.next && x.child == null)  //min is the only node in the heap
+    		{ 
+    			//make the heap empty:
+    			this.first = null;
+    			this.min = null;
+    			this.numOfTrees = 0;
+    			this.numOfMarked = 0;
+    		}
+    		else if (x == x.next && x.child.next == x.child) //min is the only root in the heap and it has one child
+    		{
+    			//make the child of min the new min and first
+    			this.first = x.child;
+    			this.min = x.child;
+    			makeSonsRoots(x);
+    		}
+    		else //these are the cases we need to perform consolidating:
+    		{
+    			if (x.next == x && x.child.next != x.child) //min is the only root in the heap and it has more than one child
+    			{
+    				this.first = x.child; //make the sons of min to be the root list
+    				makeSonsRoots(x);
+    			}
+    			else if (x != x.next) //min is not the only root in the heap
+    			{
+    				if(x.child != null) //min has at least one child
+    				{
+    					x.prev.next = x.child; //add sons of min to the root list in its place
+	    				x.child.prev.next = x.next;
+	    				x.next.prev = x.child.prev;
+	    				x.child.prev = x.prev;
+	    				if(this.first == x) //update the first pointer if min was first
+	    				{
+	    					this.first = x.child;
+	    				}
+	    				makeSonsRoots(x);
+    				}
+    				else //min doesn't have children
+    				{
+    					x.next.prev = x.prev; //remove min from the root list and update the minimum if necessary
+						x.prev.next = x.next;
+    					if (this.first == x) 
+    					{
+    						this.first = x.next;
+    					}
+    				}
+    			}
+    			this.min = x.next;
+    			consolidate();
+    		}
+    		this.n --; //demote the number of nodes in the heap
+    		recycle(x);
+    	}
+    }
+    
+ 
+    /**
+     * private void removeMinIncrementally()
+     *
+     * @pre: budget > 0 and the heap isn't empty
+     * the work of deleteMin when the consolidation is incremental: the sons of min become
+     * pending roots, a budget of consolidation steps is done, and the new minimum is found
+     * among the pending roots and the roots in the buckets
+     * complexity: O(budget + pending + log n), where pending is O(log n) unless a big heap was melded
+     */
+    private void removeMinIncrementally()
+    {
+    	HeapNode x = this.min;
+    	removeRoot(x);
+    	this.n --;
+    	settle(x.rank);
+    	this.min = this.first == null ? null : minRoot();
+    	recycle(x);
+    }
+
+    /**
+     * private void settle(int added)
+     *
+     * does at most budget + 2*added steps of the incremental consolidation, where added is the
+     * num of pending roots the calling operation added. A step takes the first pending root and
+     * either puts it in the empty bucket of its rank (by moving first past it), or links it with
+     * the root in that bucket, leaving the new tree pending at the front.
+     * (every link empties a bucket that a step filled, so at least half of the steps settle a root,
+     * and the pending roots don't pile up)
+     * complexity: O(budget + added)
+     */
+    private void settle(int added)
+    {
+    	int limit = this.budget + 2 * added;
+    	for (int steps = 0; steps < limit && this.pending > 0; steps++)
+    	{
+    		HeapNode x = this.first; //the first pending root
+    		HeapNode y = this.buckets[x.rank];
+    		if (y == null) //x is settled
+    		{
+    			this.buckets[x.rank] = x;
+    			this.first = x.next;
+    			this.pending --;
+    		}
+    		else //link x with the settled root of the same rank
+    		{
+    			this.buckets[x.rank] = null;
+    			y.prev.next = y.next; //remove y from the root list
+    			y.next.prev = y.prev;
+    			HeapNode prev = x.prev;
+    			HeapNode next = x.next;
+    			HeapNode root = link(x, y);
+    			if (next == x) //the new tree is the only root
+    			{
+    				root.prev = root;
+    				root.next = root;
+    			}
+    			else //the new tree takes the place of x
+    			{
+    				root.prev = prev;
+    				root.next = next;
+    				prev.next = root;
+    				next.prev = root;
+    			}
+    			this.first = root;
+    			this.numOfTrees --;
+    			if (root.key <= this.min.key) //min may have been linked under a root with the same key
+    			{
+    				this.min = root;
+    			}
+    		}
+    	}
+    }
+
+    /**
+     * private HeapNode minRoot()
+     *
+     * @pre: budget > 0 and the heap isn't empty
+     * returns the root with the minimal key, out of the pending roots and the roots in the buckets
+     * complexity: O(pending + log n)
+     */
+    private HeapNode minRoot()
+    {
+    	HeapNode best = null;
+    	HeapNode x = this.first;
+    	for (int i = 0; i < this.pending; i++)
+    	{
+    		if (best == null || x.key < best.key)
+    		{
+    			best = x;
+    		}
+    		x = x.next;
+    	}
+    	for (HeapNode root : this.buckets)
+    	{
+    		if (root != null && (best == null || root.key < best.key))
+    		{
+    			best = root;
+    		}
+    	}
+    	return best;
+    }
+
+    /**
+     * private void removeRoot(HeapNode x)
+     *
+     * removes the root x from the root list, and puts its sons at the front of the root list
+     * (as pending roots, if the consolidation is incremental)
+     * complexity: O(1 + rank(x))
+     */
+    private void removeRoot(HeapNode x)
+    {
+    	if (this.budget > 0)
+    	{
+    		if (this.buckets[x.rank] == x) //x is settled
+    		{
+    			this.buckets[x.rank] = null;
+    		}
+    		else
+    		{
+    			this.pending --;
+    		}
+    	}
+    	if (x.next == x) //x is the only root
+    	{
+    		this.first = null;
+    	}
+    	else
+    	{
+    		x.prev.next = x.next;
+    		x.next.prev = x.prev;
+    		if (this.first == x)
+    		{
+    			this.first = x.next;
+    		}
+    	}
+    	this.numOfTrees --;
+
+    	HeapNode child = x.child;
+    	if (child != null)
+    	{
+    		makeSonsRoots(x);
+    		if (this.first == null) //the sons are the whole root list
+    		{
+    			this.first = child;
+    		}
+    		else //add the sons to the beginning of the root list
+    		{
+    			HeapNode last = child.prev;
+    			last.next = this.first;
+    			child.prev = this.first.prev;
+    			this.first.prev.next = child;
+    			this.first.prev = last;
+    			this.first = child;
+    		}
+    		this.numOfTrees = this.numOfTrees + x.rank;
+    		if (this.budget > 0)
+    		{
+    			this.pending = this.pending + x.rank;
+    		}
+    	}
+    }
+
+   /**
+    * public void clear()
+    *
+    * Deletes all the nodes at once, by starting a new generation of the epoch of the heap:
+    * decreaseKey and delete throw IllegalArgumentException for a node of an older generation.
+    * Without pooling the nodes are left to the garbage collector without walking them. A pooled
+    * heap keeps their trees as they are, and the next inserts reuse their nodes one root at
+    * a time (the values of the deleted nodes stay reachable until their nodes are reused).
+    * While recording, the nodes are deleted one by one so the trace stays replayable.
+    * complexity: O(1)
+    */
+    @Override
+    public void clear()
+    {
+    	if (this.recorder != null)
+    	{
+    		while (!this.isEmpty())
+    		{
+    			this.deleteMin();
+    		}
+    	}
+    	this.epoch.generation++;
+    	if (this.isEmpty())
+    	{
+    		return;
+    	}
+    	if (this.pooled)
+    	{
+    		this.cleared = this.cleared == null ? this.first : concat(this.cleared, this.first);
+    	}
+    	forget();
+    }
+
+    /**
+     * private void checkEpoch(HeapNode x)
+     *
+     * throws IllegalArgumentException unless x is a node of the current generation of the epoch of the heap.
+     * A node melded from another heap is stamped with the epoch of that heap, which was forwarded to this
+     * one: the forwards are followed, and x is stamped again so they are followed once
+     * complexity: O(1) for a node of the heap, O(melds) amortized for a melded node
+     */
+    private void checkEpoch(HeapNode x)
+    {
+    	Epoch e = x.epoch;
+    	int generation = x.generation;
+    	while (e.into != null && generation == e.generation) //x was in the heap of e when it was melded
+    	{
+    		generation = e.intoGeneration;
+    		e = e.into;
+    	}
+    	if (e != this.epoch || generation != e.generation)
+    	{
+    		throw new IllegalArgumentException("the node was deleted by clear() or isn't a node of this heap");
+    	}
+    	x.epoch = e;
+    	x.generation = generation;
+    }
+
+    /**
+     * private void forget()
+     *
+     * empties the heap without touching its nodes, which were recycled or moved to another heap
+     * complexity: O(1) (O(MAX_RANK) if the consolidation is incremental)
+     */
+    private void forget()
+    {
+    	if (this.budget > 0) //MAX_RANK buckets
+    	{
+    		Arrays.fill(this.buckets, null);
+    		this.pending = 0;
+    	}
+    	this.min = null;
+    	this.first = null;
+    	this.n = 0;
+    	this.numOfTrees = 0;
+    	this.numOfMarked = 0;
+    }
+
+   /**
+    * public void setConsolidationBudget(int budget)
+    *
+    * With budget 0 (the default) deleteMin consolidates the whole root list at once. With a positive
+    * budget the consolidation is incremental: insert, meld, decreaseKey, delete and deleteMin each do
+    * at most budget steps of it, plus two steps for every root the operation added (a step puts a root
+    * in its rank bucket or links two roots), so a burst of inserts doesn't make the next deleteMin
+    * link the whole root list. deleteMin then finds the new minimum among the consolidated roots
+    * (one per rank) and the roots not consolidated yet. findMin() is correct at all times in both modes.
+    * complexity: O(1)
+    */
+	@SuppressWarnings("unchecked")
+    public void setConsolidationBudget(int budget)
+    {
+    	if (budget < 0)
+    	{
+    		throw new IllegalArgumentException("budget should not be negative");
+    	}
+    	if (budget > 0 && this.budget == 0) //all the roots are pending
+    	{
+    		if (this.buckets == null)
+    		{
+    			this.buckets = (HeapNode[]) new FibonacciHeap<?>.HeapNode[MAX_RANK];
+    		}
+    		this.pending = this.numOfTrees;
+    	}
+    	else if (budget == 0 && this.budget > 0) //consolidate will fill the buckets again
+    	{
+    		Arrays.fill(this.buckets, null);
+    		this.pending = 0;
+    	}
+    	this.budget = budget;
+    }
+
+   /**
+    * public int getConsolidationBudget()
+    *
+    * Returns the max consolidation steps per operation, 0 if deleteMin consolidates eagerly.
+    * complexity: O(1)
+    */
+    public int getConsolidationBudget()
+    {
+    	return this.budget;
+    }
+ 
+   /**
+    * public int drainMin(int[] out, int max)
+    *
+    * Deletes up to max nodes with the minimal keys, writing their keys to out in ascending order.
+    * Returns the number of keys written, which is smaller than max only if the heap became empty.
+    * complexity: O(max * log n) amortized
+    */
+    public int drainMin(int[] out, int max)
+    {
+    	int count = Math.min(max, this.n);
+    	Objects.checkFromIndexSize(0, count, out.length);
+    	for (int i = 0; i < count; i++)
+    	{
+    		out[i] = this.min.key;
+    		this.deleteMin();
+    	}
+    	return count;
+    }
+    
+    /**
+     * private void makeSonsRoots(HeapNode x) 
+     *
+     * make all sons of x to be roots by making their parent null
+     * complexity: O(log n)
+     */
+    private void makeSonsRoots(HeapNode x) 
+    {
+		HeapNode root = x.child;
+		do
+	   	{
+			root.parent = null;
+			if (root.isMarked()) {
+				root.mark = false; //a root is never marked 
+				this.numOfMarked --;
+			}
+			root = root.next;
+	   	}
+		while(root != x.child);
+    }
+    /**
+     * private void consolidate()
+     *
+     * make the heap a binomial heap after deleting the node containing the minimum key,
+     * and find the new minimum. 
+     * (the method uses "buckets", which are kept in the heap and emptied before returning)
+     * 
+     * complexity: O(n)
+     */
+	@SuppressWarnings("unchecked")
+	private void consolidate() 
+    {
+    	HeapNode[] buckets = this.buckets;
+    	if (buckets == null) //all buckets are null
+    	{
+    		buckets = (HeapNode[]) new FibonacciHeap<?>.HeapNode[MAX_RANK];
+    		this.buckets = buckets;
+    	}
+    	int maxRank = 0;
+    	this.first.prev.next = null;  //uncircle the root list
+    	HeapNode z = this.first;
+    	int roots = 0; //the length of the root list
+    	
+    	//put trees into buckets corresponding to their rank, and link trees with the same rank:
+    	while (z != null) 
+    	{
+    		roots++;
+    		HeapNode x = z;
+    		int r = z.rank;
+    		z = z.next; //save a pointer to the next root
+    		while (buckets[r] != null) { //until we reach an empty bucket do:
+    			HeapNode y = buckets[r]; //y is another node with the same rank as x
+    			x = link(x,y);
+    			buckets[r] = null; //empty the bucket
+    			r++ ; //move the linked tree to the next bucket
+    		}
+    		buckets[r] = x; //the rank of x is now r, put x in that bucket
+    		if (r > maxRank)
+    		{
+    			maxRank = r;
+    		}
+    	}
+    	
+    	//now we will rebuild the heap out of the buckets:
+    	
+    	this.min = null; //reset the heap
+    	this.first = null;
+    	this.numOfTrees = 0;
+    	
+    	for (int i=0; i<=maxRank; i++) {
+    		HeapNode root = buckets[i];
+    		if (root != null) //if there's a tree (root) in the bucket:
+    		{
+    			buckets[i] = null; //empty the bucket for the next consolidate
+    			if (this.min == null) { //if the heap is empty, make the tree the first root and the minimum
+        			this.first = root;
+        			this.min = root;
+        			root.prev = root;
+        			root.next = root;
+        		}
+        		else {
+        			insertAfter(root);
+        			if (root.key < this.min.key) { ////update min if necessary
+        				this.min = root;
+        			}
+        		}
+        		this.numOfTrees++; //we added a tree to the heap
+    		}
+    	}
+    	if (this.metrics != null)
+    	{
+    		this.metrics.consolidated(roots);
+    	}
+    }
+	
+    /**
+     * private void insertAfter(HeapNode root)
+     *
+     * insert the tree rooted at 'root' to the heap, 
+     * adding it to the right end of the root list.
+     *
+     * complexity: O(1)
+     */
+	private void insertAfter(HeapNode root) {
+		root.prev = this.first.prev;
+		this.first.prev.next = root;
+		root.next = this.first;
+		this.first.prev = root;
+	}
+
+	/**
+     * private void link(HeapNode x, HeapNode y)
+     *
+     * unite two trees with the same rank, returning the new tree
+     * complexity: O(1)
+     */
+    private HeapNode link(HeapNode x, HeapNode y)
+    {
+    	links.increment(); //we make a link
+    	if (this.metrics != null)
+    	{
+    		this.metrics.links.increment();
+    	}
+    	
+    	if(x.key > y.key) //make x to be the node with the smaller key:
+    	{
+    		HeapNode tmp = x;
+    		x = y;
+    		y = tmp;
+    	}
+    	//make x the parent of y:
+    	if(x.rank > 0) //x and y are not single nodes
+    	{
+    		y.next = x.child;
+    		y.parent = x;
+    		y.prev = x.child.prev;
+    		x.child.prev.next = y;
+    		x.child.prev = y;	
+    	}
+    	else //x and y are single nodes
+    	{
+    		y.parent = x;
+    		y.next = y;
+    		y.prev = y;
+    	}
+    	//x is now the united new tree
+    	x.rank++; //the rank is greater by 1 from the original rank of x and y
+    	x.child = y; //make y the child of x
+    	return x; 
+    }
+
+   /**
+    * public HeapNode findMin()
+    *
+    * Return the node of the heap whose key is minimal. 
+    * complexity: O(1)
+    */
+    @Override
+    public HeapNode findMin()
+    {
+    	return this.min;
+    } 
+    
+   /**
+    * public void meld (FibonacciHeap<V> heap2)
+    *
+    * Meld the heap with heap2 (heap2 becomes empty, and can be used again)
+    * complexity: O(1)
+    */
+    public void meld (FibonacciHeap<V> heap2)
+    {
+    	if (heap2 == this) //a heap already holds its own nodes
+    	{
+    		return;
+    	}
+    	if (this.recorder != null && !heap2.isEmpty()) //the nodes of heap2 are new to the trace
+    	{
+    		this.recorder.insertedAll(heap2.first);
+    	}
+    	if (heap2.epoch != this.epoch && !heap2.isEmpty()) //the nodes of heap2 join the current generation of this
+    	{
+    		heap2.epoch.into = this.epoch;
+    		heap2.epoch.intoGeneration = this.epoch.generation;
+    		heap2.epoch = new Epoch();
+    	}
+    	this.n = this.n + heap2.n;
+		this.numOfMarked = this.numOfMarked + heap2.numOfMarked;
+		this.numOfTrees = this.numOfTrees + heap2.numOfTrees;
+		
+    	if(this.min == null && !heap2.isEmpty()) //if this is empty and the other isn't (n was already updated)
+    	{
+    		this.min = heap2.min;
+    		this.first = heap2.first;
+    	}
+    	else if(this.min != null && !heap2.isEmpty()) //if both heaps aren't empty
+    	{
+    		if(heap2.min.key < this.min.key) //update min to by the minimum out of the the two heaps
+    		{
+    			this.min = heap2.min;
+    		}
+    		
+    		//meld the heaps by adding the root list of heap2 to the right end of the root list of this:
+    		this.first.prev.next = heap2.first;
+    		heap2.first.prev.next = this.first;
+    		HeapNode tmp = heap2.first.prev;
+    		heap2.first.prev = this.first.prev;
+    		this.first.prev = tmp;
+    	}
+    	//for other cases (both heaps are empty, or this isn't empty and other is) - do nothing.    		
+    	if (this.budget > 0 && !heap2.isEmpty()) //the roots of heap2 become pending roots at the front
+    	{
+    		this.first = heap2.first;
+    		this.pending = this.pending + heap2.numOfTrees;
+    		settle(0); //meld stays O(budget), the roots of heap2 are consolidated by the next operations
+    	}
+    	heap2.forget();
+    }
+
+   /**
+    * public void meld(AddressablePriorityQueue<V, HeapNode> heap2)
+    *
+    * Meld the heap with heap2, which must be a FibonacciHeap
+    * complexity: O(1)
+    */
+    @Override
+    public void meld(AddressablePriorityQueue<V, HeapNode> heap2)
+    {
+    	if (!(heap2 instanceof FibonacciHeap))
+    	{
+    		throw new IllegalArgumentException("a FibonacciHeap can only meld another FibonacciHeap");
+    	}
+    	meld((FibonacciHeap<V>) heap2);
+    }
+
+   /**
+    * public int key(HeapNode handle) / public V value(HeapNode handle)
+    *
+    * Return the key and the value of a node of the heap
+    * complexity: O(1) 
+    */
+    @Override
+    public int key(HeapNode handle)
+    {
+    	return handle.key;
+    }
+
+    @Override
+    public V value(HeapNode handle)
+    {
+    	return handle.value;
+    }
+
+   /**
+    * public int size()
+    *
+    * Return the number of elements in the heap
+    * complexity: O(1) 
+    */
+    @Override
+    public int size()
+    {
+    	return this.n;
+    }
+    	
+    /**
+    * public int[] countersRep()
+    *
+    * Return a counters array, where the value of the i-th entry is the number of trees of order i in the heap. 
+    * complexity: O(n)
+    */
+    public int[] countersRep() 
+    {
+    	if(this.isEmpty())
+    	{
+    		return new int[] {};
+    	}
+    	
+    	int maxRank = this.first.rank;
+    	HeapNode node = this.first.next;
+    	
+    	//find the biggest rank in the root list:
+    	while(node != this.first)
+    	{
+    		if(node.rank > maxRank)
+    		{
+    			maxRank = node.rank;
+    		}
+    		node = node.next;
+    	}
+	   int[] arr = new int[maxRank+1]; //initialize the counts array
+       arr[first.rank] ++;
+       node = first.next;
+       
+       //fill the array:
+   	   while(node != this.first)
+   	   {
+   		   arr[node.rank] ++;
+   		   node = node.next;
+   	   }
+	   return arr; 
+    }
+	
+   /**
+    * public void delete(HeapNode x)
+    *
+    * Deletes the node x from the heap. x is cut from its parent (with cascading cuts) and its
+    * children take its place in the root list; the heap is consolidated only if x is the minimum.
+    * The keys of the other nodes are not changed.
+    * complexity: O(1 + rank(x)) amortized if x is not the minimum, O(log n) amortized otherwise
+    */
+    @Override
+    public void delete(HeapNode x) 
+    {   
+    	if (x.epoch != this.epoch || x.generation != this.epoch.generation)
+    	{
+    		checkEpoch(x);
+    	}
+    	if (this.recorder != null)
+    	{
+    		this.recorder.removed(TraceRecorder.DELETE, x);
+    	}
+    	if(x == this.min) //only deleting the minimum needs a consolidation
+    	{
+    		measuredRemoveMin();
+    		return;
+    	}
+    	removeNode(x);
+    }
+
+   /**
+    * public void deleteAll(HeapNode[] nodes)
+    *
+    * Deletes all the given nodes (which are distinct nodes of this heap) from the heap.
+    * Nodes other than the minimum are removed as in delete, and if the minimum is one of them,
+    * it is deleted last so the heap is consolidated at most once.
+    * complexity: O(nodes.length + sum of their ranks) amortized, plus O(log n) if the minimum is deleted
+    */
+    public void deleteAll(HeapNode[] nodes) 
+    {   
+    	for (HeapNode x : nodes) //before any of them is deleted
+    	{
+    		if (x.epoch != this.epoch || x.generation != this.epoch.generation)
+    		{
+    			checkEpoch(x);
+    		}
+    	}
+    	if (this.recorder != null)
+    	{
+    		for (HeapNode x : nodes)
+    		{
+    			this.recorder.removed(TraceRecorder.DELETE, x);
+    		}
+    	}
+    	HeapNode deferred = null; //the minimum, if it is one of the nodes
+    	for (HeapNode x : nodes)
+    	{
+    		if (x == this.min)
+    		{
+    			HeapNode previous = deferred;
+    			deferred = x;
+    			if (previous != null) //min moved from previous to x, which has the same key
+    			{
+    				removeNode(previous);
+    			}
+    		}
+    		else
+    		{
+    			removeNode(x);
+    		}
+    	}
+    	if (deferred != null)
+    	{
+    		if (deferred == this.min) //still the minimum, unless min moved to another root with the same key
+    		{
+    			measuredRemoveMin();
+    		}
+    		else
+    		{
+    			removeNode(deferred);
+    		}
+    	}
+    }
+
+    /**
+     * private void removeNode(HeapNode x)
+     *
+     * @pre: x is not the minimum (so there is another root)
+     * makes x a root, and replaces it in the root list with its children
+     * complexity: O(1 + rank(x) + budget) amortized
+     */
+    private void removeNode(HeapNode x)
+    {
+    	int pendingBefore = this.pending;
+    	HeapNode y = x.parent;
+    	if (y != null) //x isn't a root - make it a root first
+    	{
+    		cut(x, y);
+    		cascadingCuts(y);
+    	}
+    	removeRoot(x);
+    	this.n --;
+    	recycle(x);
+    	settle(Math.max(0, this.pending - pendingBefore));
+    }
+
+    /**
+     * private int selectLargest(int count, int[] keys, HeapNode[] nodes)
+     *
+     * @pre: 0 < count < n, and keys and nodes have room for n entries
+     * finds the count nodes with the largest keys without changing the heap: walks the trees into nodes
+     * and returns the index from which keys holds their keys in ascending order, up to n (the threshold
+     * key is found by a quickselect over keys). removeSelected removes them.
+     * complexity: O(n + count log count)
+     */
+    private int selectLargest(int count, int[] keys, HeapNode[] nodes)
+    {
+    	int size = 0;
+    	HeapNode root = this.first;
+    	do
+    	{
+    		nodes[size++] = root;
+    		root = root.next;
+    	}
+    	while (root != this.first);
+    	for (int i = 0; i < size; i++) //the sons of every node walked so far are appended
+    	{
+    		HeapNode c = nodes[i].child;
+    		if (c != null)
+    		{
+    			HeapNode son = c;
+    			do
+    			{
+    				nodes[size++] = son;
+    				son = son.next;
+    			}
+    			while (son != c);
+    		}
+    		keys[i] = nodes[i].key;
+    	}
+
+    	int from = size - count;
+    	BoundedTopK.select(keys, size, from); //keys[from..size) are the keys to remove
+    	Arrays.sort(keys, from, size);
+    	return from;
+    }
+
+    /**
+     * private void removeSelected(int from, int[] keys, HeapNode[] nodes)
+     *
+     * @pre: keys and nodes are as selectLargest(n - from, keys, nodes) left them, and the heap didn't change since
+     * removes the nodes of the keys keys[from..n), as delete does (without consolidating), and clears nodes
+     * complexity: O(n) amortized
+     */
+    private void removeSelected(int from, int[] keys, HeapNode[] nodes)
+    {
+    	int size = this.n;
+    	int threshold = keys[from];
+    	int ties = 0; //num of nodes with the threshold key to remove
+    	for (int i = from; i < size && keys[i] == threshold; i++)
+    	{
+    		ties++;
+    	}
+    	for (int i = 0; i < size; i++) //a parent is removed before its sons, which are roots by then
+    	{
+    		HeapNode x = nodes[i];
+    		if (x.key > threshold || (x.key == threshold && ties > 0 && x != this.min)) //a kept key ties with min
+    		{
+    			if (x.key == threshold)
+    			{
+    				ties--;
+    			}
+    			removeNode(x);
+    		}
+    		nodes[i] = null;
+    	}
+    }
+
+   /**
+    * public void decreaseKey(HeapNode x, int delta)
+    *
+    * The function decreases the key of the node x by delta. The structure of the heap should be updated
+    * to reflect this change (for example, the cascading cuts procedure should be applied if needed).
+    * complexity: O(n)
+    */
+    @Override
+    public void decreaseKey(HeapNode x, int delta)
+    {    
+    	assert (delta >= 0) : "delta should be positive"; //a negative delta would increase the key
+    	if (x.epoch != this.epoch || x.generation != this.epoch.generation)
+    	{
+    		checkEpoch(x);
+    	}
+    	
+    	if(delta > 0) //if delta == 0 we do nothing
+    	{
+    		if (this.recorder != null)
+    		{
+    			this.recorder.decreased(x, delta);
+    		}
+    		x.key = x.key - delta; //decrease the key x by delta
+    		if(x.key < this.min.key) //update min if necessary
+			{
+				this.min = x;
+			}
+    		HeapNode y = x.parent;
+    		if( y != null && x.key < y.key) //min heap property is violated and x isn't a root
+    		{
+    			int pendingBefore = this.pending;
+    			cut(x, y);
+    			cascadingCuts(y);
+    			settle(this.pending - pendingBefore);
+    		}
+    	}
+    }
+    
+   /**
+    * public void decreaseKeys(HeapNode[] nodes, int[] deltas, int count)
+    *
+    * Decreases the key of nodes[i] by deltas[i] for every i < count, like count calls of decreaseKey,
+    * in one pass: all the keys are changed first (so a node whose parent decreased below it isn't cut),
+    * then the violating nodes are cut with their cascading cuts into one list of roots, which joins
+    * the root list once, and the minimum is updated once. A node may appear more than once.
+    * complexity: O(count) amortized
+    */
+    public void decreaseKeys(HeapNode[] nodes, int[] deltas, int count)
+    {
+    	Objects.checkFromToIndex(0, count, Math.min(nodes.length, deltas.length));
+    	if (this.isEmpty()) //there are no nodes to decrease
+    	{
+    		return;
+    	}
+    	if (this.recorder != null)
+    	{
+    		for (int i = 0; i < count; i++)
+    		{
+    			if (deltas[i] > 0)
+    			{
+    				this.recorder.decreased(nodes[i], deltas[i]);
+    			}
+    		}
+    	}
+    	HeapNode newMin = this.min;
+    	for (int i = 0; i < count; i++)
+    	{
+    		if (deltas[i] > 0) //as in decreaseKey, other deltas do nothing
+    		{
+    			HeapNode x = nodes[i];
+    			x.key = x.key - deltas[i];
+    			if (x.key < newMin.key)
+    			{
+    				newMin = x;
+    			}
+    		}
+    	}
+
+    	int pendingBefore = this.pending;
+    	HeapNode chain = null; //the new roots
+    	for (int i = 0; i < count; i++)
+    	{
+    		HeapNode x = nodes[i];
+    		HeapNode y = x.parent;
+    		if (deltas[i] <= 0 || y == null || x.key >= y.key) //not decreased, or the heap order holds
+    		{
+    			continue;
+    		}
+    		chain = detach(x, y, chain);
+    		int depth = 0; //the cascading cuts of y, as in cascadingCuts
+    		HeapNode z = y.parent;
+    		while (z != null)
+    		{
+    			if (!y.isMarked())
+    			{
+    				y.mark = true;
+    				numOfMarked ++;
+    				break;
+    			}
+    			chain = detach(y, z, chain);
+    			depth++;
+    			y = z;
+    			z = y.parent;
+    		}
+    		chain = unsettle(y, chain); //only the last ancestor may be a root
+    		if (this.metrics != null)
+    		{
+    			this.metrics.cascaded(depth);
+    		}
+    	}
+    	if (chain != null)
+    	{
+    		addFront(chain);
+    	}
+    	while (newMin.parent != null) //newMin wasn't cut, its ancestors have the same (minimal) key
+    	{
+    		newMin = newMin.parent;
+    	}
+    	this.min = newMin;
+    	settle(this.pending - pendingBefore);
+    }
+
+    /**
+     * private void cut(HeapNode x, HeapNode y)
+     *
+     * The function cuts the connection between the node x and his parent y,
+     * and adds x to the root list and 
+     * complexity: O(1)
+     */
+    private void cut(HeapNode x, HeapNode y)
+    {
+    	addFront(unsettle(y, detach(x, y, null)));
+    }
+
+    /**
+     * private HeapNode detach(HeapNode x, HeapNode y, HeapNode chain)
+     *
+     * cuts x from its parent y and adds x (as a root, pending if the consolidation is incremental)
+     * to the circular list which starts at chain (null for an empty list), which isn't in the heap yet.
+     * Returns the head of the list
+     * complexity: O(1)
+     */
+    private HeapNode detach(HeapNode x, HeapNode y, HeapNode chain)
+    {
+    	cuts.increment();  //we make a cut
+    	if (this.metrics != null)
+    	{
+    		this.metrics.cuts.increment();
+    	}
+    	y.rank --; //y lost a child
+    	numOfTrees ++; //the tree rooted at x will be added to the root list
+    	x.parent = null; //x is now a root
+    	if (x.isMarked()) //unmark x if needed, roots are never marked
+    	{
+    		x.mark = false;
+        	numOfMarked --;
+    	}
+    	
+    	if(x.next == x)  //y.child pionter points at x, and x is the only child of y
+    	{
+    		y.child = null;
+    	}
+    	else if(y.child == x) //y.child pionter points at x, and x has brother/s
+    	{
+    		y.child = x.next;
+    		x.prev.next = x.next;
+    		x.next.prev = x.prev;
+    	}
+    	else //y.child pionter doesn't point at x, and x has brother/s
+    	{
+    		x.prev.next = x.next;
+    		x.next.prev = x.prev;
+    	}
+    	
+    	if (this.budget > 0) //x is a pending root
+    	{
+    		this.pending ++;
+    	}
+    	return append(chain, x);
+    }
+
+    /**
+     * private HeapNode unsettle(HeapNode y, HeapNode chain)
+     *
+     * @pre: y just lost a child
+     * if y is a settled root (so its bucket is now wrong), moves y from the root list to the circular list
+     * which starts at chain as a pending root. Returns the head of the list
+     * complexity: O(1)
+     */
+    private HeapNode unsettle(HeapNode y, HeapNode chain)
+    {
+    	if (this.budget == 0 || y.parent != null || this.buckets[y.rank + 1] != y)
+    	{
+    		return chain;
+    	}
+    	this.buckets[y.rank + 1] = null;
+    	if (y.next == y) //y is the only root
+    	{
+    		this.first = null;
+    	}
+    	else
+    	{
+    		y.prev.next = y.next;
+    		y.next.prev = y.prev;
+    		if (this.first == y)
+    		{
+    			this.first = y.next;
+    		}
+    	}
+    	this.pending ++;
+    	return append(chain, y);
+    }
+
+    /**
+     * private void addFront(HeapNode chain)
+     *
+     * adds the circular list of roots which starts at chain to the beginning of the root list
+     * complexity: O(1)
+     */
+    private void addFront(HeapNode chain)
+    {
+    	if (this.first != null)
+    	{
+    		HeapNode last = chain.prev;
+    		last.next = this.first;
+    		chain.prev = this.first.prev;
+    		this.first.prev.next = chain;
+    		this.first.prev = last;
+    	}
+    	this.first = chain;
+    }
+    
+    /**
+     * private void cascadingCuts(HeapNode y)
+     * 
+     * @pre: a cut was performed on y's child.
+     * The function travels the nodes from y to the root. It marks y if it wasn't marked before.
+     * If y was already marked, it cuts y and marks its parent.
+     * The function stops when it marks a node that wasn't marked before.
+     * 
+     * complexity: O(n)
+     */
+    private void cascadingCuts(HeapNode y)
+    {
+    	int depth = 0; //num of marked ancestors we cut
+    	HeapNode z = y.parent;
+    	while(z != null) //y isn't a root
+    	{
+    		if(!y.isMarked())
+    		{
+    			y.mark = true;
+    			numOfMarked ++;
+    			break;
+    		}
+    		cut(y, z);
+    		depth++;
+    		y = z;
+    		z = y.parent;
+    	}
+    	if (this.metrics != null)
+    	{
+    		this.metrics.cascaded(depth);
+    	}
+    }
+
+   /**
+    * public int potential() 
+    *
+    * This function returns the current potential of the heap, which is:
+    * Potential = #trees + 2*#marked
+    * (the number of trees in the heap plus twice the number of marked nodes in the heap) 
+    * complexity: O(1)
+    */
+    public int potential() 
+    {    
+    	return (this.numOfTrees + 2*this.numOfMarked);
+    }
+
+   /**
+    * public HeapMetrics enableMetrics()
+    *
+    * Starts collecting metrics for this heap (links, cuts, cascading cuts, consolidations,
+    * deleteMin latency and potential) and returns them. Calling it again returns the same metrics.
+    * While the metrics are disabled (the default) the heap only pays a null check per operation.
+    * complexity: O(1)
+    */
+    public HeapMetrics enableMetrics()
+    {
+    	if (this.metrics == null)
+    	{
+    		this.metrics = new HeapMetrics(this);
+    	}
+    	return this.metrics;
+    }
+
+   /**
+    * public void disableMetrics()
+    *
+    * Stops collecting metrics for this heap. The metrics collected so far are dropped.
+    * complexity: O(1)
+    */
+    public void disableMetrics()
+    {
+    	this.metrics = null;
+    }
+
+   /**
+    * public HeapMetrics getMetrics()
+    *
+    * Returns the metrics of this heap, or null if they are disabled.
+    * complexity: O(1)
+    */
+    public HeapMetrics getMetrics()
+    {
+    	return this.metrics;
+    }
+
+   /**
+    * public void startRecording(OutputStream out)
+    *
+    * Starts writing every operation of the heap (with the ids of the nodes and the keys) to out,
+    * as a trace which TraceReplay reads (the nodes already in the heap are recorded as inserts).
+    * Until stopRecording is called, every operation also pays an identity map update and a few bytes
+    * of buffered output. I/O errors are thrown as UncheckedIOException.
+    * complexity: O(n)
+    */
+    public void startRecording(OutputStream out)
+    {
+    	if (this.recorder != null)
+    	{
+    		throw new IllegalStateException("the heap is already recording");
+    	}
+    	TraceRecorder recorder = new TraceRecorder(out);
+    	recorder.insertedAll(this.first);
+    	this.recorder = recorder;
+    }
+
+   /**
+    * public void stopRecording()
+    *
+    * Ends the trace and closes the stream it was written to (does nothing if the heap isn't recording).
+    * complexity: O(1)
+    */
+    public void stopRecording()
+    {
+    	TraceRecorder recorder = this.recorder;
+    	this.recorder = null;
+    	if (recorder != null)
+    	{
+    		recorder.close();
+    	}
+    }
+
+   /**
+    * public static int totalLinks() 
+    *
+    * This static function returns the total number of link operations made during the run-time of the program.
+    * A link operation is the operation which gets as input two trees of the same rank, and generates a tree of 
+    * rank bigger by one, by hanging the tree which has larger value in its root on the tree which has smaller value 
+    * in its root.
+    * complexity: O(1)
+    */
+    public static int totalLinks()
+    {    
+    	return links.intValue();
+    }
+
+   /**
+    * public static int totalCuts() 
+    *
+    * This static function returns the total number of cut operations made during the run-time of the program.
+    * A cut operation is the operation which diconnects a subtree from its parent (during decreaseKey/delete methods). 
+    * complexity: O(1)
+    */
+    public static int totalCuts()
+    {    
+    	return cuts.intValue();
+    }
+
+   /**
+    * public PrimitiveIterator.OfInt sortedIterator()
+    *
+    * Returns an iterator over the keys of the heap in ascending order, which does not change the heap.
+    * It keeps a frontier of the nodes whose parents were already returned (at first, the roots)
+    * in a binary heap on an array, so returning i keys takes O(#trees + i*log n) time.
+    * The heap must not be changed while the iterator is used.
+    * complexity: O(#trees)
+    */
+    public PrimitiveIterator.OfInt sortedIterator()
+    {
+    	return new SortedIterator();
+    }
+
+   /**
+    * public IntStream sorted()
+    *
+    * Returns a sequential stream of the keys of the heap in ascending order (see sortedIterator()).
+    * complexity: O(1), the keys are found while the stream is consumed
+    */
+    public IntStream sorted()
+    {
+    	return StreamSupport.intStream(() -> Spliterators.spliterator(sortedIterator(), this.n,
+    			Spliterator.ORDERED | Spliterator.SORTED), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.SIZED, false);
+    }
+
+   /**
+    * public void writeTo(FileChannel channel)
+    *
+    * Writes a snapshot of the heap to the channel, at its position. The snapshot keeps the exact
+    * forest (keys, ranks, marks and the order of the roots and of the sons), so mapFrom restores
+    * a heap with the same structure and potential. The values of the nodes are not written.
+    * Format (little-endian): a header of magic, version, n, numOfTrees, numOfMarked and the
+    * pre-order index of min (six ints), then every node in pre-order as its key (int) and
+    * a byte of its rank (7 bits) and mark (the high bit) - 5 bytes per node.
+    * complexity: O(n)
+    */
+    public void writeTo(FileChannel channel) throws IOException
+    {
+    	long start = channel.position();
+    	ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    	buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(this.n);
+    	buffer.putInt(this.numOfTrees).putInt(this.numOfMarked).putInt(-1); //minIndex is written at the end
+    	int minIndex = -1;
+    	if (this.first != null)
+    	{
+    		//an explicit stack of the sibling lists being written: where each started and the next node
+    		@SuppressWarnings("unchecked")
+    		HeapNode[] starts = (HeapNode[]) new FibonacciHeap<?>.HeapNode[MAX_RANK];
+    		HeapNode[] cursors = starts.clone();
+    		int top = 0;
+    		starts[0] = this.first;
+    		cursors[0] = this.first;
+    		int index = 0;
+    		while (top >= 0)
+    		{
+    			HeapNode x = cursors[top];
+    			if (x == null) //all the siblings of this level were written
+    			{
+    				top--;
+    				continue;
+    			}
+    			if (buffer.remaining() < 5)
+    			{
+    				flush(channel, buffer);
+    			}
+    			buffer.putInt(x.key).put((byte) (x.rank | (x.mark ? 0x80 : 0)));
+    			if (x == this.min)
+    			{
+    				minIndex = index;
+    			}
+    			index++;
+    			cursors[top] = x.next == starts[top] ? null : x.next;
+    			if (x.child != null) //write the sons before the next sibling
+    			{
+    				if (++top == starts.length) //a chain of cuts can make deep trees
+    				{
+    					starts = Arrays.copyOf(starts, top * 2);
+    					cursors = Arrays.copyOf(cursors, top * 2);
+    				}
+    				starts[top] = x.child;
+    				cursors[top] = x.child;
+    			}
+    		}
+    	}
+    	flush(channel, buffer);
+    	buffer.putInt(minIndex).flip(); //write minIndex in its place in the header
+    	while (buffer.hasRemaining())
+    	{
+    		channel.write(buffer, start + SNAPSHOT_HEADER - 4 + buffer.position());
+    	}
+    }
+
+   /**
+    * public static <V> FibonacciHeap<V> mapFrom(Path path)
+    *
+    * Restores a heap from a snapshot file written by writeTo (from the start of the file),
+    * reading it through a memory mapping. The nodes have no values, and the heap consolidates eagerly.
+    * Throws IOException if the file is not a valid snapshot, including a rank of MAX_RANK or more,
+    * more sons than the nodes left, or sons whose ranks break the Fibonacci bound on the rank.
+    * complexity: O(n)
+    */
+    public static <V> FibonacciHeap<V> mapFrom(Path path) throws IOException
+    {
+    	ByteBuffer buffer;
+    	try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+    	{
+    		buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+    	}
+    	if (buffer.remaining() < SNAPSHOT_HEADER || buffer.getInt() != SNAPSHOT_MAGIC)
+    	{
+    		throw new IOException("not a heap snapshot: " + path);
+    	}
+    	int version = buffer.getInt();
+    	if (version != SNAPSHOT_VERSION)
+    	{
+    		throw new IOException("unsupported snapshot version " + version + ": " + path);
+    	}
+    	int n = buffer.getInt();
+    	int numOfTrees = buffer.getInt();
+    	int numOfMarked = buffer.getInt();
+    	int minIndex = buffer.getInt();
+    	if (n < 0 || buffer.remaining() != 5L * n || numOfTrees < 0 || numOfTrees > n || (n > 0) != (minIndex >= 0))
+    	{
+    		throw new IOException("corrupted snapshot: " + path);
+    	}
+
+    	FibonacciHeap<V> heap = new FibonacciHeap<>();
+    	//an explicit stack of the nodes whose sons are being read, how many sons each still misses
+    	//and how many of its sons read so far have each rank (MAX_RANK counters per node)
+    	@SuppressWarnings("unchecked")
+    	FibonacciHeap<V>.HeapNode[] parents = (FibonacciHeap<V>.HeapNode[]) new FibonacciHeap<?>.HeapNode[MAX_RANK];
+    	int[] missing = new int[MAX_RANK];
+    	int[] sonRanks = new int[MAX_RANK * MAX_RANK];
+    	int top = -1;
+    	int roots = 0;
+    	int marked = 0;
+    	int smallest = Integer.MAX_VALUE; //the minimal key of a root
+    	for (int i = 0; i < n; i++)
+    	{
+    		int key = buffer.getInt();
+    		int flags = buffer.get();
+    		int rank = flags & 0x7F;
+    		if (rank >= MAX_RANK || rank > n - i - 1) //consolidate has MAX_RANK buckets, and the sons follow node
+    		{
+    			throw new IOException("corrupted snapshot: " + path);
+    		}
+    		FibonacciHeap<V>.HeapNode node = heap.new HeapNode(key, null, null, null);
+    		node.rank = rank;
+    		node.mark = flags < 0;
+    		if (top < 0) //node is a root
+    		{
+    			if (++roots > numOfTrees || node.mark)
+    			{
+    				throw new IOException("corrupted snapshot: " + path);
+    			}
+    			heap.first = heap.append(heap.first, node);
+    			smallest = Math.min(smallest, key);
+    		}
+    		else
+    		{
+    			FibonacciHeap<V>.HeapNode parent = parents[top];
+    			if (key < parent.key)
+    			{
+    				throw new IOException("corrupted snapshot: " + path);
+    			}
+    			node.parent = parent;
+    			parent.child = heap.append(parent.child, node);
+    			missing[top]--;
+    			sonRanks[top * MAX_RANK + rank]++;
+    		}
+    		if (node.mark)
+    		{
+    			marked++;
+    		}
+    		if (i == minIndex)
+    		{
+    			heap.min = node;
+    		}
+    		if (node.rank > 0) //the sons of node come next
+    		{
+    			if (++top == parents.length)
+    			{
+    				parents = Arrays.copyOf(parents, top * 2);
+    				missing = Arrays.copyOf(missing, top * 2);
+    				sonRanks = Arrays.copyOf(sonRanks, top * 2 * MAX_RANK);
+    			}
+    			parents[top] = node;
+    			missing[top] = node.rank;
+    		}
+    		else
+    		{
+    			while (top >= 0 && missing[top] == 0) //the last son of these nodes was read
+    			{
+    				if (!checkSonRanks(sonRanks, top * MAX_RANK))
+    				{
+    					throw new IOException("corrupted snapshot: " + path);
+    				}
+    				top--;
+    			}
+    		}
+    	}
+    	if (top >= 0 || roots != numOfTrees || marked != numOfMarked || (heap.min != null && (heap.min.parent != null || heap.min.key != smallest)))
+    	{
+    		throw new IOException("corrupted snapshot: " + path);
+    	}
+    	heap.n = n;
+    	heap.numOfTrees = numOfTrees;
+    	heap.numOfMarked = numOfMarked;
+    	return heap;
+    }
+
+    /**
+     * private static boolean checkSonRanks(int[] sonRanks, int from)
+     *
+     * checks the ranks of the sons of a node, counted in sonRanks[from ... from + MAX_RANK - 1],
+     * against the invariant behind the O(log n) bound on ranks: the i-th smallest rank of a son
+     * is at least i - 2. Without it, consolidating the trees of a crafted snapshot could link
+     * a tree of rank MAX_RANK. Zeros the counters for the next node of that depth.
+     * complexity: O(MAX_RANK)
+     */
+    private static boolean checkSonRanks(int[] sonRanks, int from)
+    {
+    	boolean valid = true;
+    	int sons = 0; //num of sons of rank <= rank
+    	for (int rank = 0; rank < MAX_RANK; rank++)
+    	{
+    		sons += sonRanks[from + rank];
+    		sonRanks[from + rank] = 0;
+    		if (sons > rank + 2) //the sons-th smallest rank is at most rank < sons - 2
+    		{
+    			valid = false;
+    		}
+    	}
+    	return valid;
+    }
+
+    /**
+     * private static void flush(FileChannel channel, ByteBuffer buffer)
+     *
+     * writes the content of buffer to channel and clears it
+     * complexity: O(buffer.position())
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+    	buffer.flip();
+    	while (buffer.hasRemaining())
+    	{
+    		channel.write(buffer);
+    	}
+    	buffer.clear();
+    }
+
+    /**
+     * private static <V> FibonacciHeap<V>.HeapNode concat(FibonacciHeap<V>.HeapNode a, FibonacciHeap<V>.HeapNode b)
+     *
+     * joins the circular list which starts at b to the end of the one which starts at a, and returns a
+     * complexity: O(1)
+     */
+    private static <V> FibonacciHeap<V>.HeapNode concat(FibonacciHeap<V>.HeapNode a, FibonacciHeap<V>.HeapNode b)
+    {
+    	FibonacciHeap<V>.HeapNode last = b.prev;
+    	a.prev.next = b;
+    	b.prev = a.prev;
+    	last.next = a;
+    	a.prev = last;
+    	return a;
+    }
+
+    /**
+     * private HeapNode append(HeapNode head, HeapNode node)
+     *
+     * adds node at the end of the circular list which starts at head (null for an empty list),
+     * and returns the head of the list
+     * complexity: O(1)
+     */
+    private HeapNode append(HeapNode head, HeapNode node)
+    {
+    	if (head == null)
+    	{
+    		node.prev = node;
+    		node.next = node;
+    		return node;
+    	}
+    	node.next = head;
+    	node.prev = head.prev;
+    	head.prev.next = node;
+    	head.prev = node;
+    	return head;
+    }
+
+   /**
+    * public static <V> int[] kMin(FibonacciHeap<V> H, int k) 
+    *
+    * This static function returns the k minimal elements in H (which may have any shape).
+    * If H has less than k elements, the rest of the array is 0.
+    * complexity: O(#trees + k*(log k + deg(H)))
+    */
+    public static <V> int[] kMin(FibonacciHeap<V> H, int k)
+    {   
+        int[] arr = new int[k];
+        PrimitiveIterator.OfInt keys = H.sortedIterator();
+        for (int i = 0; i < k && keys.hasNext(); i++)
+        {
+        	arr[i] = keys.nextInt();
+        }
+        return arr; 
+    }
+
+   /**
+    * private class SortedIterator
+    *
+    * The iterator of sortedIterator(): an array binary heap (by key) of the frontier nodes.
+    * Returning a node replaces it in the frontier with its children.
+    */
+    private class SortedIterator implements PrimitiveIterator.OfInt
+    {
+    	private HeapNode[] frontier;
+    	private int size; //num of nodes in frontier
+
+    	@SuppressWarnings("unchecked")
+    	private SortedIterator()
+    	{
+    		this.frontier = (HeapNode[]) new FibonacciHeap<?>.HeapNode[Math.max(8, numOfTrees)];
+    		if (first != null)
+    		{
+    			addAll(first);
+    		}
+    	}
+
+    	@Override
+    	public boolean hasNext()
+    	{
+    		return this.size != 0;
+    	}
+
+    	@Override
+    	public int nextInt()
+    	{
+    		if (this.size == 0)
+    		{
+    			throw new NoSuchElementException();
+    		}
+    		HeapNode node = this.frontier[0];
+    		HeapNode last = this.frontier[--this.size];
+    		this.frontier[this.size] = null;
+    		if (this.size != 0)
+    		{
+    			siftDown(last);
+    		}
+    		if (node.child != null)
+    		{
+    			addAll(node.child);
+    		}
+    		return node.key;
+    	}
+
+        /**
+         * private void addAll(HeapNode start)
+         *
+         * adds start and its brothers to the frontier
+         * complexity: O(#brothers * log(frontier))
+         */
+    	private void addAll(HeapNode start)
+    	{
+    		HeapNode node = start;
+    		do
+    		{
+    			if (this.size == this.frontier.length)
+    			{
+    				this.frontier = Arrays.copyOf(this.frontier, this.size * 2);
+    			}
+    			int i = this.size++;
+    			while (i > 0 && this.frontier[(i - 1) >>> 1].key > node.key) //sift up
+    			{
+    				this.frontier[i] = this.frontier[(i - 1) >>> 1];
+    				i = (i - 1) >>> 1;
+    			}
+    			this.frontier[i] = node;
+    			node = node.next;
+    		}
+    		while (node != start);
+    	}
+
+        /**
+         * private void siftDown(HeapNode node)
+         *
+         * puts node in the place of the removed top of the frontier
+         * complexity: O(log(frontier))
+         */
+    	private void siftDown(HeapNode node)
+    	{
+    		int i = 0;
+    		while (2 * i + 1 < this.size)
+    		{
+    			int child = 2 * i + 1;
+    			if (child + 1 < this.size && this.frontier[child + 1].key < this.frontier[child].key)
+    			{
+    				child++;
+    			}
+    			if (this.frontier[child].key >= node.key)
+    			{
+    				break;
+    			}
+    			this.frontier[i] = this.frontier[child];
+    			i = child;
+    		}
+    		this.frontier[i] = node;
+    	}
+    }
+    
+   /**
+    * public class HeapNode
+    * 
+    * If you wish to implement classes other than FibonacciHeap
+    * (for example HeapNode), do it in this file, not in 
+    * another file 
+    *  
+    */
+    public class HeapNode
+    {
+    	public int key; //the key of the node
+    	private int rank; //the rank of the node
+    	private boolean mark; //notes if the node is marked
+    	private HeapNode child; //the child of the node
+    	private HeapNode next; //the next node of this node
+    	private HeapNode prev; //the previous node of this node
+		private HeapNode parent; //the parent of the node
+		private V value; //the value attached to the node
+		private Epoch epoch; //the epoch of the heap which created or reused the node
+		private int generation; //the generation of epoch in which the node was inserted
+		
+		  /**
+		   * The method initialize an object of type HeapNode with values inserted
+		   * complexity: O(1)
+		   */
+  		public HeapNode(int key, HeapNode prev, HeapNode next, HeapNode parent) 
+  		{
+  			this.key = key;
+  			this.epoch = FibonacciHeap.this.epoch;
+  			this.generation = this.epoch.generation;
+	    	this.child = null;
+	    	this.rank = 0;
+	    	this.mark = false;
+	    	this.next = next;
+	    	this.prev = prev;
+	    	this.parent = parent;
+  		}
+  		
+  	   /**
+  	    * public int getKey()
+  	    * 
+  	    * the function returns the key of this node
+  	    * complexity: O(1)
+  	    */
+  		public int getKey() 
+  		{
+  			return this.key;
+  		}
+  		
+  	   /**
+   	    * public void setKey(int key)
+   	    * 
+   	    * the function sets the key of this node
+   	    * complexity: O(1)
+   	    */
+  		public void setKey(int key) 
+  		{
+  			this.key = key;
+  		}
+  		
+  	   /**
+   	    * public V getValue()
+   	    * 
+   	    * the function returns the value attached to this node (null if there is none)
+   	    * complexity: O(1)
+   	    */
+  		public V getValue() 
+  		{
+  			return this.value;
+  		}
+  		
+  	   /**
+   	    * public void setValue(V value)
+   	    * 
+   	    * the function sets the value attached to this node
+   	    * complexity: O(1)
+   	    */
+  		public void setValue(V value) 
+  		{
+  			this.value = value;
+  		}
+  		
+   	   /**
+   	    * public int getRank() 
+   	    * 
+   	    * the function returns the rank of this node
+   	    * complexity: O(1)
+   	    */
+  		public int getRank() 
+  		{
+  			return this.rank;
+  		}
+  		
+  		/**
+    	* public void setRank(int rank)
+        * 
+        * the function sets the rank of this node
+    	* complexity: O(1)
+    	*/
+  		public void setRank(int rank) 
+  		{
+  			this.rank = rank;
+  		}
+  		
+  	    /**
+    	* public boolean isMarked()
+        * 
+        * the function returns true if this node is marked and false if not
+    	* complexity: O(1)
+    	*/
+  		public boolean isMarked() 
+  		{
+  			return this.mark;
+  		}
+  		
+   	   /**
+         * public HeapNode getPrev() 
+    	 * 
+    	 * the function returns the previous node of this node
+    	 * complexity: O(1)
+    	 */
+  		public HeapNode getPrev() 
+  		{
+  			return this.prev;
+  		}
+  		
+     /**
+         * public void setPrev(HeapNode prev) 
+    	 * 
+    	 * the function sets the previous node of this node
+    	 * complexity: O(1)
+    	 */
+  		public void setPrev(HeapNode prev) 
+  		{
+  			this.prev = prev;
+  		}
+  		
+       /**
+         * public HeapNode getNext()
+    	 * 
+    	 * the function returns the next node of this node
+    	 * complexity: O(1)
+    	 */
+  		public HeapNode getNext() 
+  		{
+  			return this.next;
+  		}
+  		
+        /**
+         * public void setNext(HeapNode next)
+    	 * 
+    	 * the function sets the next node of this node
+    	 * complexity: O(1)
+    	 */
+  		public void setNext(HeapNode next) 
+  		{
+  			this.next = next;
+  		}
+  		
+        /**
+         * public HeapNode getParent() 
+    	 * 
+    	 * the function returns the parent of this node
+    	 * if there is no parent, returns null
+    	 * complexity: O(1)
+    	 */
+  		public HeapNode getParent() 
+  		{
+  			return this.parent;
+  		}
+  		
+        /**
+         * public void setParent(HeapNode parent)  
+    	 * 
+    	 * the function sets the parent of this node
+    	 * complexity: O(1)
+    	 */
+  		public void setParent(HeapNode parent) 
+  		{
+  			this.parent = parent;
+  		}
+  		
+       /**
+         * publicHeapNode getChild()
+    	 * 
+    	 * the function returns the left child of this node
+    	 * if there is no child, returns null
+    	 * complexity: O(1)
+    	 */
+  		public HeapNode getChild() 
+  		{
+  			return this.child;
+  		}
+  		
+        /**
+         * public void setChild()
+    	 * 
+    	 * the function sets the left child of this node 
+    	 * complexity: O(1)
+    	 */
+  		public void setChild(HeapNode child) 
+  		{
+  			this.child = child;
+  		}
+  		
+
+    }
+
+   /**
+    * private static final class Epoch
+    *
+    * The epoch of the nodes of a heap (or of heaps which share it). clear() starts a new generation,
+    * so the nodes it deleted, which are stamped with an older one, are rejected by decreaseKey and delete.
+    * When a heap is melded into another, its epoch is forwarded to the current generation of the epoch
+    * of the other heap, and the melded heap gets a new epoch.
+    */
+    private static final class Epoch
+    {
+    	int generation; //bumped by clear()
+    	Epoch into; //the epoch the nodes of this epoch were melded into, null while it is the epoch of a heap
+    	int intoGeneration; //the generation of into when they were melded
+    }
+
+
+   /**
+    * public static abstract class AbstractHandleFibonacciHeap
+    *
+    * The fibonacci heap algorithm over int handles, once for all the handle heaps: HandleFibonacciHeap
+    * (int keys, stored by ArrayFibonacciHeap and OffHeapFibonacciHeap), LongFibonacciHeap and
+    * DoubleFibonacciHeap. A handle is returned by the insert of the subclass and is given to decreaseKey
+    * and delete. Handles of deleted nodes are reused by later inserts, so a handle must not be used
+    * after its node was deleted.
+    * The subclasses decide where the fields of a node (key, rank, mark, parent, child, next, prev) are
+    * stored and how two nodes are ordered (less). Link, cut, cascading cuts, consolidate and the
+    * structural delete are implemented here on top of those, and the subclasses only add the key.
+    * FibonacciHeap has the same algorithm over HeapNode references, with its options (pooling,
+    * incremental consolidation, metrics, recording), which are not part of this one.
+    */
+    public static abstract class AbstractHandleFibonacciHeap
+    {
+    	public static final int NONE = -1; //the "null" handle
+
+    	private int min = NONE; // the node with the minimal key in the heap
+    	private int first = NONE; // the first node in the heap
+    	private int n; // num of nodes in the heap
+    	private int numOfTrees; // num of trees in the heap
+    	private int numOfMarked; //num of marked nodes
+    	private int used; //num of slots that were ever handed out
+    	private int free = NONE; //the first slot in the list of free (deleted) slots
+    	private final int[] buckets = new int[MAX_RANK]; //buckets for consolidate, all NONE between calls
+
+    	protected AbstractHandleFibonacciHeap()
+    	{
+    		Arrays.fill(this.buckets, NONE);
+    	}
+
+    	//the storage of the nodes, implemented by the subclasses:
+    	protected abstract int capacity(); //num of slots the storage currently has
+    	protected abstract void grow(); //makes room for more slots
+    	protected abstract int rank(int x);
+    	protected abstract void setRank(int x, int rank);
+    	protected abstract boolean isMarked(int x);
+    	protected abstract void setMark(int x, boolean mark);
+    	protected abstract int parent(int x);
+    	protected abstract void setParent(int x, int parent);
+    	protected abstract int child(int x);
+    	protected abstract void setChild(int x, int child);
+    	protected abstract int next(int x);
+    	protected abstract void setNext(int x, int next);
+    	protected abstract int prev(int x);
+    	protected abstract void setPrev(int x, int prev);
+
+       /**
+        * protected abstract boolean less(int x, int y)
+        *
+        * returns true if and only if the key of x is smaller than the key of y
+        */
+    	protected abstract boolean less(int x, int y);
+
+        /**
+         * protected void released(int x)
+         *
+         * called when the node x was deleted, before its slot is reused: a subclass which keeps
+         * references for its nodes drops those of x here
+         * complexity: O(1)
+         */
+    	protected void released(int x) {}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if and only if the heap is empty.
+        * complexity: O(1)
+        */
+    	public boolean isEmpty()
+    	{
+    		return (this.n == 0);
+    	}
+
+       /**
+        * public int size()
+        *
+        * Return the number of elements in the heap
+        * complexity: O(1)
+        */
+    	public int size()
+    	{
+    		return this.n;
+    	}
+
+       /**
+        * public int findMin()
+        *
+        * Return the handle of the node whose key is minimal, or NONE if the heap is empty.
+        * complexity: O(1)
+        */
+    	public int findMin()
+    	{
+    		return this.min;
+    	}
+
+       /**
+        * public void deleteMin()
+        *
+        * Delete the node containing the minimum key.
+        * complexity: O(log n) amortized
+        */
+    	public void deleteMin()
+    	{
+    		if (this.isEmpty())
+    		{
+    			return;
+    		}
+    		int x = this.min;
+    		removeRoot(x);
+    		release(x);
+    		this.n--;
+    		if (this.first == NONE) //x was the only node in the heap
+    		{
+    			this.min = NONE;
+    			this.numOfTrees = 0;
+    			this.numOfMarked = 0;
+    		}
+    		else
+    		{
+    			consolidate();
+    		}
+    	}
+
+       /**
+        * public void delete(int handle)
+        *
+        * Deletes the node with the given handle from the heap. Unless it is the minimum, the node is
+        * cut to the root list and replaced there by its sons, without consolidating: the roots it adds
+        * are linked by the next deleteMin. Deleting the minimum is a deleteMin.
+        * complexity: O(1 + rank) amortized, O(log n) amortized if the node is the minimum
+        */
+    	public void delete(int handle)
+    	{
+    		int x = handle;
+    		if (x == this.min)
+    		{
+    			deleteMin();
+    			return;
+    		}
+    		int y = parent(x);
+    		if (y != NONE) //bring x to the root list
+    		{
+    			cut(x, y);
+    			cascadingCuts(y);
+    		}
+    		removeRoot(x); //there is another root, the minimum
+    		release(x);
+    		this.n--;
+    	}
+
+       /**
+        * public int potential()
+        *
+        * This function returns the current potential of the heap: #trees + 2*#marked
+        * complexity: O(1)
+        */
+    	public int potential()
+    	{
+    		return (this.numOfTrees + 2*this.numOfMarked);
+    	}
+
+        /**
+         * protected int newNode()
+         *
+         * returns the slot of a new node, a single node tree which is not in the heap yet:
+         * the subclass sets its key and then adds it
+         * complexity: O(1) amortized (the storage grows when it is full)
+         */
+    	protected int newNode()
+    	{
+    		int x = allocate();
+    		setRank(x, 0);
+    		setMark(x, false);
+    		setParent(x, NONE);
+    		setChild(x, NONE);
+    		return x;
+    	}
+
+        /**
+         * protected int add(int x)
+         *
+         * inserts the new node x (with its key already set) into the heap as a root, and returns it
+         * complexity: O(1)
+         */
+    	protected int add(int x)
+    	{
+    		addRoot(x);
+    		if (this.min == NONE || less(x, this.min)) //update min if necessary
+    		{
+    			this.min = x;
+    		}
+    		this.n++;
+    		return x;
+    	}
+
+        /**
+         * protected void keyDecreased(int x)
+         *
+         * restores the heap after the key of x was decreased, by updating the minimum
+         * and performing a cut and cascading cuts if the heap order is violated
+         * complexity: O(1) amortized
+         */
+    	protected void keyDecreased(int x)
+    	{
+    		if (less(x, this.min)) //update min if necessary
+    		{
+    			this.min = x;
+    		}
+    		int y = parent(x);
+    		if (y != NONE && less(x, y)) //min heap property is violated and x isn't a root
+    		{
+    			cut(x, y);
+    			cascadingCuts(y);
+    		}
+    	}
+
+        /**
+         * protected void reset()
+         *
+         * forgets all the nodes (for subclasses that drop their storage)
+         * complexity: O(1)
+         */
+    	protected void reset()
+    	{
+    		this.min = NONE;
+    		this.first = NONE;
+    		this.n = 0;
+    		this.numOfTrees = 0;
+    		this.numOfMarked = 0;
+    		this.used = 0;
+    		this.free = NONE;
+    	}
+
+        /**
+         * private int allocate()
+         *
+         * returns a free slot for a new node, reusing deleted slots before growing the storage
+         * complexity: O(1) amortized
+         */
+    	private int allocate()
+    	{
+    		if (this.free != NONE) //reuse a deleted slot
+    		{
+    			int x = this.free;
+    			this.free = next(x);
+    			return x;
+    		}
+    		if (this.used == capacity())
+    		{
+    			grow();
+    		}
+    		return this.used++;
+    	}
+
+        /**
+         * private void release(int x)
+         *
+         * returns the slot of a deleted node to the free list
+         * complexity: O(1)
+         */
+    	private void release(int x)
+    	{
+    		released(x);
+    		setNext(x, this.free);
+    		this.free = x;
+    	}
+
+        /**
+         * private void addRoot(int x)
+         *
+         * adds the tree rooted at x to the beginning of the root list (makes x first)
+         * complexity: O(1)
+         */
+    	private void addRoot(int x)
+    	{
+    		if (this.first == NONE)
+    		{
+    			setNext(x, x);
+    			setPrev(x, x);
+    		}
+    		else
+    		{
+    			int last = prev(this.first);
+    			setNext(x, this.first);
+    			setPrev(x, last);
+    			setNext(last, x);
+    			setPrev(this.first, x);
+    		}
+    		this.first = x;
+    		this.numOfTrees++;
+    	}
+
+        /**
+         * private void removeRoot(int x)
+         *
+         * removes the root x from the root list, putting the sons of x in its place
+         * complexity: O(rank(x))
+         */
+    	private void removeRoot(int x)
+    	{
+    		int c = child(x);
+    		int prev = prev(x);
+    		int next = next(x);
+    		if (c != NONE) //make the sons of x roots and splice them in place of x
+    		{
+    			int son = c;
+    			do
+    			{
+    				setParent(son, NONE);
+    				if (isMarked(son)) //a root is never marked
+    				{
+    					setMark(son, false);
+    					this.numOfMarked--;
+    				}
+    				son = next(son);
+    			}
+    			while (son != c);
+
+    			int last = prev(c);
+    			if (next != x) //x has brothers in the root list
+    			{
+    				setNext(prev, c);
+    				setPrev(c, prev);
+    				setNext(last, next);
+    				setPrev(next, last);
+    			}
+    			if (this.first == x)
+    			{
+    				this.first = c;
+    			}
+    			this.numOfTrees = this.numOfTrees + rank(x);
+    		}
+    		else if (next == x) //x is the only root and it has no sons
+    		{
+    			this.first = NONE;
+    		}
+    		else
+    		{
+    			setNext(prev, next);
+    			setPrev(next, prev);
+    			if (this.first == x)
+    			{
+    				this.first = next;
+    			}
+    		}
+    		this.numOfTrees--;
+    	}
+
+        /**
+         * private void consolidate()
+         *
+         * links trees with the same rank until every rank appears at most once in the root list,
+         * and finds the new minimum.
+         * complexity: O(log n) amortized
+         */
+    	private void consolidate()
+    	{
+    		int[] buckets = this.buckets;
+    		int maxRank = 0;
+    		setNext(prev(this.first), NONE); //uncircle the root list
+    		int z = this.first;
+
+    		while (z != NONE)
+    		{
+    			int x = z;
+    			int r = rank(x);
+    			z = next(z); //save the next root
+    			while (buckets[r] != NONE) //until we reach an empty bucket
+    			{
+    				x = link(x, buckets[r]);
+    				buckets[r] = NONE;
+    				r++;
+    			}
+    			buckets[r] = x;
+    			if (r > maxRank)
+    			{
+    				maxRank = r;
+    			}
+    		}
+
+    		//rebuild the root list out of the buckets (and empty them for the next call):
+    		this.min = NONE;
+    		this.first = NONE;
+    		this.numOfTrees = 0;
+    		for (int i = maxRank; i >= 0; i--)
+    		{
+    			int root = buckets[i];
+    			if (root != NONE)
+    			{
+    				buckets[i] = NONE;
+    				addRoot(root);
+    				if (this.min == NONE || less(root, this.min))
+    				{
+    					this.min = root;
+    				}
+    			}
+    		}
+    	}
+
+        /**
+         * private int link(int x, int y)
+         *
+         * unite two trees with the same rank, returning the root of the new tree
+         * complexity: O(1)
+         */
+    	private int link(int x, int y)
+    	{
+    		links.increment();
+
+    		if (less(y, x)) //make x the node with the smaller key
+    		{
+    			int tmp = x;
+    			x = y;
+    			y = tmp;
+    		}
+    		setParent(y, x);
+    		int c = child(x);
+    		if (c == NONE)
+    		{
+    			setNext(y, y);
+    			setPrev(y, y);
+    		}
+    		else
+    		{
+    			int last = prev(c);
+    			setNext(y, c);
+    			setPrev(y, last);
+    			setNext(last, y);
+    			setPrev(c, y);
+    		}
+    		setChild(x, y);
+    		setRank(x, rank(x) + 1);
+    		return x;
+    	}
+
+        /**
+         * private void cut(int x, int y)
+         *
+         * cuts the connection between the node x and its parent y, and adds x to the root list
+         * complexity: O(1)
+         */
+    	private void cut(int x, int y)
+    	{
+    		cuts.increment();
+    		setRank(y, rank(y) - 1);
+    		setParent(x, NONE);
+    		if (isMarked(x)) //roots are never marked
+    		{
+    			setMark(x, false);
+    			this.numOfMarked--;
+    		}
+    		int next = next(x);
+    		if (next == x) //x is the only child of y
+    		{
+    			setChild(y, NONE);
+    		}
+    		else
+    		{
+    			if (child(y) == x)
+    			{
+    				setChild(y, next);
+    			}
+    			int prev = prev(x);
+    			setNext(prev, next);
+    			setPrev(next, prev);
+    		}
+    		addRoot(x);
+    	}
+
+        /**
+         * private void cascadingCuts(int y)
+         *
+         * @pre: a cut was performed on y's child.
+         * travels from y towards the root, cutting marked nodes until it marks an unmarked one
+         * complexity: O(1) amortized
+         */
+    	private void cascadingCuts(int y)
+    	{
+    		int z = parent(y);
+    		while (z != NONE) //y isn't a root
+    		{
+    			if (!isMarked(y))
+    			{
+    				setMark(y, true);
+    				this.numOfMarked++;
+    				return;
+    			}
+    			cut(y, z);
+    			y = z;
+    			z = parent(y);
+    		}
+    	}
+    }
+
+   /**
+    * public static abstract class HandleFibonacciHeap
+    *
+    * An implementation of fibonacci heap over integers whose nodes are not objects but int handles,
+    * on the algorithm of AbstractHandleFibonacciHeap. The subclasses store the fields of a node,
+    * its int key included.
+    */
+    public static abstract class HandleFibonacciHeap extends AbstractHandleFibonacciHeap
+    {
+    	protected HandleFibonacciHeap() {}
+
+    	protected abstract int key(int x);
+    	protected abstract void setKey(int x, int key);
+
+    	@Override
+    	protected final boolean less(int x, int y)
+    	{
+    		return key(x) < key(y);
+    	}
+
+       /**
+        * public int insert(int key)
+        *
+        * Creates a node which contains the given key, inserts it into the heap and returns its handle.
+        * complexity: O(1) amortized (the storage grows when it is full)
+        */
+    	public int insert(int key)
+    	{
+    		int x = newNode();
+    		setKey(x, key);
+    		return add(x);
+    	}
+
+       /**
+        * public int getKey(int handle)
+        *
+        * Return the key of the node with the given handle.
+        * complexity: O(1)
+        */
+    	public int getKey(int handle)
+    	{
+    		return key(handle);
+    	}
+
+       /**
+        * public void decreaseKey(int handle, int delta)
+        *
+        * The function decreases the key of the node by delta, and performs a cut
+        * and cascading cuts if the heap order is violated.
+        * complexity: O(1) amortized
+        */
+    	public void decreaseKey(int handle, int delta)
+    	{
+    		assert (delta >= 0) : "delta should be positive";
+
+    		if (delta > 0) //if delta == 0 we do nothing
+    		{
+    			setKey(handle, key(handle) - delta);
+    			keyDecreased(handle);
+    		}
+    	}
+    }
+
+   /**
+    * public static final class ArrayFibonacciHeap
+    *
+    * A HandleFibonacciHeap that keeps its nodes in parallel primitive arrays
+    * (key, rank, mark, parent, child, next, prev), where the handle of a node is its index.
+    */
+    public static final class ArrayFibonacciHeap extends HandleFibonacciHeap
+    {
+    	private int[] keys; //the key of each node
+    	private int[] ranks; //the rank of each node
+    	private boolean[] marks; //notes if each node is marked
+    	private int[] parents; //the parent of each node
+    	private int[] children; //the child of each node
+    	private int[] nexts; //the next node of each node (also chains the free slots)
+    	private int[] prevs; //the previous node of each node
+
+    	public ArrayFibonacciHeap()
+    	{
+    		this(16);
+    	}
+
+       /**
+        * public ArrayFibonacciHeap(int initialCapacity)
+        *
+        * creates an empty heap with room for initialCapacity nodes before the arrays grow
+        * complexity: O(initialCapacity)
+        */
+    	public ArrayFibonacciHeap(int initialCapacity)
+    	{
+    		if (initialCapacity < 1)
+    		{
+    			initialCapacity = 1;
+    		}
+    		this.keys = new int[initialCapacity];
+    		this.ranks = new int[initialCapacity];
+    		this.marks = new boolean[initialCapacity];
+    		this.parents = new int[initialCapacity];
+    		this.children = new int[initialCapacity];
+    		this.nexts = new int[initialCapacity];
+    		this.prevs = new int[initialCapacity];
+    	}
+
+    	@Override
+    	protected int capacity()
+    	{
+    		return this.keys.length;
+    	}
+
+        /**
+         * protected void grow()
+         *
+         * doubles the capacity of all the node arrays (up to the largest array length)
+         * complexity: O(n)
+         */
+    	@Override
+    	protected void grow()
+    	{
+    		int capacity = (int) Math.min(this.keys.length * 2L, Integer.MAX_VALUE - 8); //the largest array length
+    		if (capacity <= this.keys.length)
+    		{
+    			throw new OutOfMemoryError("an ArrayFibonacciHeap can't hold more than " + this.keys.length + " nodes");
+    		}
+    		this.keys = Arrays.copyOf(this.keys, capacity);
+    		this.ranks = Arrays.copyOf(this.ranks, capacity);
+    		this.marks = Arrays.copyOf(this.marks, capacity);
+    		this.parents = Arrays.copyOf(this.parents, capacity);
+    		this.children = Arrays.copyOf(this.children, capacity);
+    		this.nexts = Arrays.copyOf(this.nexts, capacity);
+    		this.prevs = Arrays.copyOf(this.prevs, capacity);
+    	}
+
+    	@Override protected int key(int x) { return this.keys[x]; }
+    	@Override protected void setKey(int x, int key) { this.keys[x] = key; }
+    	@Override protected int rank(int x) { return this.ranks[x]; }
+    	@Override protected void setRank(int x, int rank) { this.ranks[x] = rank; }
+    	@Override protected boolean isMarked(int x) { return this.marks[x]; }
+    	@Override protected void setMark(int x, boolean mark) { this.marks[x] = mark; }
+    	@Override protected int parent(int x) { return this.parents[x]; }
+    	@Override protected void setParent(int x, int parent) { this.parents[x] = parent; }
+    	@Override protected int child(int x) { return this.children[x]; }
+    	@Override protected void setChild(int x, int child) { this.children[x] = child; }
+    	@Override protected int next(int x) { return this.nexts[x]; }
+    	@Override protected void setNext(int x, int next) { this.nexts[x] = next; }
+    	@Override protected int prev(int x) { return this.prevs[x]; }
+    	@Override protected void setPrev(int x, int prev) { this.prevs[x] = prev; }
+    }
+
+   /**
+    * public static abstract class PrimitiveFibonacciHeap
+    *
+    * An AbstractHandleFibonacciHeap whose nodes hold a primitive key that is not an int and a value
+    * of type V. The structure fields and the values are kept here in parallel arrays, where the handle
+    * of a node is its index, and the subclasses keep the keys in an array of their type and order
+    * the nodes by them.
+    */
+    public static abstract class PrimitiveFibonacciHeap<V> extends AbstractHandleFibonacciHeap
+    {
+    	private int[] ranks; //the rank of each node
+    	private boolean[] marks; //notes if each node is marked
+    	private int[] parents; //the parent of each node
+    	private int[] children; //the child of each node
+    	private int[] nexts; //the next node of each node (also chains the free slots)
+    	private int[] prevs; //the previous node of each node
+    	private Object[] values; //the value of each node, null once it was deleted
+
+    	protected PrimitiveFibonacciHeap(int initialCapacity)
+    	{
+    		if (initialCapacity < 1)
+    		{
+    			initialCapacity = 1;
+    		}
+    		this.ranks = new int[initialCapacity];
+    		this.marks = new boolean[initialCapacity];
+    		this.parents = new int[initialCapacity];
+    		this.children = new int[initialCapacity];
+    		this.nexts = new int[initialCapacity];
+    		this.prevs = new int[initialCapacity];
+    		this.values = new Object[initialCapacity];
+    	}
+
+        /**
+         * protected abstract void growKeys(int capacity)
+         *
+         * copies the keys to an array of the given (larger) capacity
+         * complexity: O(n)
+         */
+    	protected abstract void growKeys(int capacity);
+
+       /**
+        * public V getValue(int handle)
+        *
+        * Return the value of the node with the given handle.
+        * complexity: O(1)
+        */
+    	@SuppressWarnings("unchecked")
+    	public V getValue(int handle)
+    	{
+    		return (V) this.values[handle];
+    	}
+
+       /**
+        * public void setValue(int handle, V value)
+        *
+        * Replaces the value of the node with the given handle.
+        * complexity: O(1)
+        */
+    	public void setValue(int handle, V value)
+    	{
+    		this.values[handle] = value;
+    	}
+
+    	@Override
+    	protected int capacity()
+    	{
+    		return this.ranks.length;
+    	}
+
+        /**
+         * protected void grow()
+         *
+         * doubles the capacity of all the node arrays, the keys included (up to the largest array length)
+         * complexity: O(n)
+         */
+    	@Override
+    	protected void grow()
+    	{
+    		int capacity = (int) Math.min(this.ranks.length * 2L, Integer.MAX_VALUE - 8); //the largest array length
+    		if (capacity <= this.ranks.length)
+    		{
+    			throw new OutOfMemoryError("a PrimitiveFibonacciHeap can't hold more than " + this.ranks.length + " nodes");
+    		}
+    		this.ranks = Arrays.copyOf(this.ranks, capacity);
+    		this.marks = Arrays.copyOf(this.marks, capacity);
+    		this.parents = Arrays.copyOf(this.parents, capacity);
+    		this.children = Arrays.copyOf(this.children, capacity);
+    		this.nexts = Arrays.copyOf(this.nexts, capacity);
+    		this.prevs = Arrays.copyOf(this.prevs, capacity);
+    		this.values = Arrays.copyOf(this.values, capacity);
+    		growKeys(capacity);
+    	}
+
+    	@Override
+    	protected void released(int x)
+    	{
+    		this.values[x] = null; //so a deleted value can be collected
+    	}
+
+    	@Override protected int rank(int x) { return this.ranks[x]; }
+    	@Override protected void setRank(int x, int rank) { this.ranks[x] = rank; }
+    	@Override protected boolean isMarked(int x) { return this.marks[x]; }
+    	@Override protected void setMark(int x, boolean mark) { this.marks[x] = mark; }
+    	@Override protected int parent(int x) { return this.parents[x]; }
+    	@Override protected void setParent(int x, int parent) { this.parents[x] = parent; }
+    	@Override protected int child(int x) { return this.children[x]; }
+    	@Override protected void setChild(int x, int child) { this.children[x] = child; }
+    	@Override protected int next(int x) { return this.nexts[x]; }
+    	@Override protected void setNext(int x, int next) { this.nexts[x] = next; }
+    	@Override protected int prev(int x) { return this.prevs[x]; }
+    	@Override protected void setPrev(int x, int prev) { this.prevs[x] = prev; }
+    }
+
+   /**
+    * public static class LongFibonacciHeap
+    *
+    * A fibonacci heap over long keys (for example nanosecond timestamps),
+    * where every node also holds a value of type V. Its nodes are int handles.
+    */
+    public static class LongFibonacciHeap<V> extends PrimitiveFibonacciHeap<V>
+    {
+    	private long[] keys; //the key of each node
+
+    	public LongFibonacciHeap()
+    	{
+    		this(16);
+    	}
+
+       /**
+        * public LongFibonacciHeap(int initialCapacity)
+        *
+        * creates an empty heap with room for initialCapacity nodes before the arrays grow
+        * complexity: O(initialCapacity)
+        */
+    	public LongFibonacciHeap(int initialCapacity)
+    	{
+    		super(initialCapacity);
+    		this.keys = new long[capacity()];
+    	}
+
+    	@Override
+    	protected final boolean less(int x, int y)
+    	{
+    		return this.keys[x] < this.keys[y];
+    	}
+
+    	@Override
+    	protected void growKeys(int capacity)
+    	{
+    		this.keys = Arrays.copyOf(this.keys, capacity);
+    	}
+
+       /**
+        * public int insert(long key, V value)
+        *
+        * Creates a node which contains the given key and value, inserts it into the heap and returns its handle.
+        * complexity: O(1) amortized (the arrays grow when they are full)
+        */
+    	public int insert(long key, V value)
+    	{
+    		int x = newNode();
+    		this.keys[x] = key;
+    		setValue(x, value);
+    		return add(x);
+    	}
+
+       /**
+        * public long getKey(int handle)
+        *
+        * Return the key of the node with the given handle.
+        * complexity: O(1)
+        */
+    	public long getKey(int handle)
+    	{
+    		return this.keys[handle];
+    	}
+
+       /**
+        * public void decreaseKey(int handle, long delta)
+        *
+        * The function decreases the key of the node by delta.
+        * complexity: O(1) amortized
+        */
+    	public void decreaseKey(int handle, long delta)
+    	{
+    		assert (delta >= 0) : "delta should be positive";
+
+    		if (delta > 0) //if delta == 0 we do nothing
+    		{
+    			this.keys[handle] = this.keys[handle] - delta;
+    			keyDecreased(handle);
+    		}
+    	}
+    }
+
+   /**
+    * public static class DoubleFibonacciHeap
+    *
+    * A fibonacci heap over double keys (for example path costs),
+    * where every node also holds a value of type V. Its nodes are int handles. NaN keys are not allowed.
+    */
+    public static class DoubleFibonacciHeap<V> extends PrimitiveFibonacciHeap<V>
+    {
+    	private double[] keys; //the key of each node
+
+    	public DoubleFibonacciHeap()
+    	{
+    		this(16);
+    	}
+
+       /**
+        * public DoubleFibonacciHeap(int initialCapacity)
+        *
+        * creates an empty heap with room for initialCapacity nodes before the arrays grow
+        * complexity: O(initialCapacity)
+        */
+    	public DoubleFibonacciHeap(int initialCapacity)
+    	{
+    		super(initialCapacity);
+    		this.keys = new double[capacity()];
+    	}
+
+    	@Override
+    	protected final boolean less(int x, int y)
+    	{
+    		return this.keys[x] < this.keys[y];
+    	}
+
+    	@Override
+    	protected void growKeys(int capacity)
+    	{
+    		this.keys = Arrays.copyOf(this.keys, capacity);
+    	}
+
+       /**
+        * public int insert(double key, V value)
+        *
+        * Creates a node which contains the given key and value, inserts it into the heap and returns its handle.
+        * complexity: O(1) amortized (the arrays grow when they are full)
+        */
+    	public int insert(double key, V value)
+    	{
+    		if (Double.isNaN(key))
+    		{
+    			throw new IllegalArgumentException("key is NaN");
+    		}
+    		int x = newNode();
+    		this.keys[x] = key;
+    		setValue(x, value);
+    		return add(x);
+    	}
+
+       /**
+        * public double getKey(int handle)
+        *
+        * Return the key of the node with the given handle.
+        * complexity: O(1)
+        */
+    	public double getKey(int handle)
+    	{
+    		return this.keys[handle];
+    	}
+
+       /**
+        * public void decreaseKey(int handle, double delta)
+        *
+        * The function decreases the key of the node by delta.
+        * Throws IllegalArgumentException if delta is NaN, or if the new key would be NaN
+        * (a key of +Infinity decreased by +Infinity), and then the node is left as it was.
+        * complexity: O(1) amortized
+        */
+    	public void decreaseKey(int handle, double delta)
+    	{
+    		assert (delta >= 0 || Double.isNaN(delta)) : "delta should be positive";
+
+    		if (Double.isNaN(delta))
+    		{
+    			throw new IllegalArgumentException("delta is NaN");
+    		}
+    		if (delta > 0) //if delta == 0 we do nothing
+    		{
+    			double key = this.keys[handle] - delta;
+    			if (Double.isNaN(key))
+    			{
+    				throw new IllegalArgumentException("decreasing " + this.keys[handle] + " by " + delta + " makes a NaN key");
+    			}
+    			this.keys[handle] = key;
+    			keyDecreased(handle);
+    		}
+    	}
+    }
+
+   /**
+    * public static class ConcurrentFibonacciHeap
+    *
+    * A thread safe fibonacci heap. Inserts and melds go to one of several insertion buffers
+    * (small heaps chosen by the calling thread), each guarded by its own lock, so they proceed
+    * concurrently. Every other operation takes the lock of the main heap and first melds all the
+    * non-empty buffers into it (in O(1) each), so it sees every insert that completed before it.
+    */
+    public static class ConcurrentFibonacciHeap<V>
+    {
+    	private final ReentrantLock lock = new ReentrantLock(); //guards heap
+    	private final FibonacciHeap<V> heap = new FibonacciHeap<>(); //the main heap
+    	private final Buffer<V>[] buffers;
+    	private final int mask; //buffers.length - 1
+
+    	public ConcurrentFibonacciHeap()
+    	{
+    		this(Runtime.getRuntime().availableProcessors());
+    	}
+
+       /**
+        * public ConcurrentFibonacciHeap(int concurrency)
+        *
+        * creates an empty heap with insertion buffers for about concurrency inserting threads
+        * complexity: O(concurrency)
+        */
+    	@SuppressWarnings("unchecked")
+    	public ConcurrentFibonacciHeap(int concurrency)
+    	{
+    		int size = Integer.highestOneBit(Math.max(1, Math.min(concurrency, 1 << 16)) * 2 - 1); //a power of 2
+    		this.buffers = (Buffer<V>[]) new Buffer<?>[size];
+    		for (int i = 0; i < size; i++)
+    		{
+    			this.buffers[i] = new Buffer<>(this.heap);
+    		}
+    		this.mask = size - 1;
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode insert(int key, V value)
+        *
+        * Inserts a node with the given key and value into the insertion buffer of the calling thread.
+        * complexity: O(1)
+        */
+    	public FibonacciHeap<V>.HeapNode insert(int key, V value)
+    	{
+    		Buffer<V> buffer = buffer();
+    		buffer.lock.lock();
+    		try
+    		{
+    			FibonacciHeap<V>.HeapNode node = buffer.heap.insert(key, value);
+    			buffer.size++;
+    			return node;
+    		}
+    		finally
+    		{
+    			buffer.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode insert(int key)
+        *
+        * Inserts a node with the given key (and no value).
+        * complexity: O(1)
+        */
+    	public FibonacciHeap<V>.HeapNode insert(int key)
+    	{
+    		return insert(key, null);
+    	}
+
+       /**
+        * public void meld(FibonacciHeap<V> heap2)
+        *
+        * Moves all the nodes of heap2 into this heap, which leaves heap2 empty.
+        * complexity: O(1)
+        */
+    	public void meld(FibonacciHeap<V> heap2)
+    	{
+    		Buffer<V> buffer = buffer();
+    		buffer.lock.lock();
+    		try
+    		{
+    			buffer.heap.meld(heap2);
+    			buffer.size = buffer.heap.size();
+    		}
+    		finally
+    		{
+    			buffer.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode findMin()
+        *
+        * Return the node whose key is minimal (null if the heap is empty). Other threads may
+        * delete it right after, use deleteMin() to take the minimum atomically.
+        * complexity: O(#buffers)
+        */
+    	public FibonacciHeap<V>.HeapNode findMin()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			drainBuffers();
+    			return this.heap.findMin();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode deleteMin()
+        *
+        * Deletes the node containing the minimum key and returns it (null if the heap is empty).
+        * complexity: O(log n + #buffers) amortized
+        */
+    	public FibonacciHeap<V>.HeapNode deleteMin()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			drainBuffers();
+    			FibonacciHeap<V>.HeapNode min = this.heap.findMin();
+    			this.heap.deleteMin();
+    			return min;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public void decreaseKey(FibonacciHeap<V>.HeapNode x, int delta)
+        *
+        * Decreases the key of the node x (which was returned by insert and was not deleted) by delta.
+        * complexity: O(1 + #buffers) amortized
+        */
+    	public void decreaseKey(FibonacciHeap<V>.HeapNode x, int delta)
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			drainBuffers(); //x may still be in a buffer
+    			this.heap.decreaseKey(x, delta);
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public void delete(FibonacciHeap<V>.HeapNode x)
+        *
+        * Deletes the node x (which was returned by insert and was not deleted) from the heap.
+        * complexity: O(log n + #buffers) amortized
+        */
+    	public void delete(FibonacciHeap<V>.HeapNode x)
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			drainBuffers(); //x may still be in a buffer
+    			this.heap.delete(x);
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public int size()
+        *
+        * Return the number of elements in the heap. The buffers are read under the lock of the main heap,
+        * so no node is counted twice or missed by a concurrent drain, but an insert which overlaps the call
+        * may or may not be counted.
+        * complexity: O(#buffers)
+        */
+    	public int size()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			int size = this.heap.size();
+    			for (Buffer<V> buffer : this.buffers)
+    			{
+    				size = size + buffer.size;
+    			}
+    			return size;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if and only if the heap is empty.
+        * complexity: O(#buffers)
+        */
+    	public boolean isEmpty()
+    	{
+    		return size() == 0;
+    	}
+
+        /**
+         * private Buffer<V> buffer()
+         *
+         * returns the insertion buffer of the calling thread
+         * complexity: O(1)
+         */
+    	private Buffer<V> buffer()
+    	{
+    		long id = Thread.currentThread().threadId();
+    		int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9; //spread consecutive ids
+    		return this.buffers[(h ^ (h >>> 16)) & this.mask];
+    	}
+
+        /**
+         * private void drainBuffers()
+         *
+         * @pre: the lock of the main heap is held
+         * melds every non-empty insertion buffer into the main heap
+         * complexity: O(#buffers)
+         */
+    	private void drainBuffers()
+    	{
+    		for (Buffer<V> buffer : this.buffers)
+    		{
+    			if (buffer.size != 0) //written under the buffer lock, so a completed insert is seen here
+    			{
+    				buffer.lock.lock();
+    				try
+    				{
+    					this.heap.meld(buffer.heap); //empties the buffer heap, which takes the next inserts
+    					buffer.size = 0;
+    				}
+    				finally
+    				{
+    					buffer.lock.unlock();
+    				}
+    			}
+    		}
+    	}
+
+       /**
+        * private static final class Buffer
+        *
+        * An insertion buffer: a heap which only gets inserts and melds, and its lock.
+        */
+    	private static final class Buffer<V>
+    	{
+    		final ReentrantLock lock = new ReentrantLock();
+    		final FibonacciHeap<V> heap; //guarded by lock
+    		volatile int size; //num of nodes in heap, written under lock
+
+    		Buffer(FibonacciHeap<V> main)
+    		{
+    			this.heap = new FibonacciHeap<>(main); //the nodes keep their epoch when they are drained
+    		}
+    	}
+    }
+
+   /**
+    * public static class MultiFibonacciQueue
+    *
+    * A relaxed concurrent priority queue (a MultiQueue) made of c*threads independent
+    * fibonacci heaps (shards), each guarded by its own lock. insert puts the key into a random shard,
+    * and deleteMin takes the minimum of the better of two random shards, so the extracted key is
+    * close to, but not always, the global minimum. Locks are only tried - a busy shard is skipped.
+    */
+    public static class MultiFibonacciQueue<V>
+    {
+    	private static final long EMPTY = Long.MAX_VALUE; //the cached minimum of an empty shard
+    	private static final int SAMPLE_MASK = 63; //the rank error is sampled on 1/64 of the deletions
+
+    	private final Shard<V>[] shards;
+
+    	//statistics:
+    	private final LongAdder inserts = new LongAdder();
+    	private final LongAdder deletions = new LongAdder();
+    	private final LongAdder lockFailures = new LongAdder();
+    	private final LongAdder rankErrorSamples = new LongAdder();
+    	private final LongAdder rankErrorSum = new LongAdder();
+    	private final LongAccumulator rankErrorMax = new LongAccumulator(Math::max, 0);
+    	private volatile long statisticsStart = System.nanoTime();
+
+       /**
+        * public MultiFibonacciQueue(int threads, int c)
+        *
+        * creates an empty queue with c*threads shards (at least 2)
+        * complexity: O(c*threads)
+        */
+    	@SuppressWarnings("unchecked")
+    	public MultiFibonacciQueue(int threads, int c)
+    	{
+    		if (threads < 1 || c < 1)
+    		{
+    			throw new IllegalArgumentException("threads and c should be positive");
+    		}
+    		int size = Math.max(2, Math.multiplyExact(threads, c));
+    		this.shards = (Shard<V>[]) new Shard<?>[size];
+    		for (int i = 0; i < size; i++)
+    		{
+    			this.shards[i] = new Shard<>();
+    		}
+    	}
+
+       /**
+        * public void insert(int key, V value)
+        *
+        * Inserts a node with the given key and value into a random shard which is not locked.
+        * complexity: O(1) expected
+        */
+    	public void insert(int key, V value)
+    	{
+    		ThreadLocalRandom random = ThreadLocalRandom.current();
+    		while (true)
+    		{
+    			Shard<V> shard = this.shards[random.nextInt(this.shards.length)];
+    			if (shard.lock.tryLock())
+    			{
+    				try
+    				{
+    					shard.heap.insert(key, value);
+    					if (key < shard.min)
+    					{
+    						shard.min = key;
+    					}
+    				}
+    				finally
+    				{
+    					shard.lock.unlock();
+    				}
+    				this.inserts.increment();
+    				return;
+    			}
+    			this.lockFailures.increment();
+    		}
+    	}
+
+       /**
+        * public void insert(int key)
+        *
+        * Inserts a node with the given key (and no value).
+        * complexity: O(1) expected
+        */
+    	public void insert(int key)
+    	{
+    		insert(key, null);
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode deleteMin()
+        *
+        * Deletes the node with the smaller minimum out of two random shards and returns it,
+        * or returns null if the queue is empty.
+        * complexity: O(log n) amortized, expected
+        */
+    	public FibonacciHeap<V>.HeapNode deleteMin()
+    	{
+    		ThreadLocalRandom random = ThreadLocalRandom.current();
+    		int misses = 0; //num of tries that found two empty shards
+    		while (true)
+    		{
+    			int i = random.nextInt(this.shards.length);
+    			int j = random.nextInt(this.shards.length - 1);
+    			if (j >= i) //make j different from i
+    			{
+    				j++;
+    			}
+    			Shard<V> shard = this.shards[i].min <= this.shards[j].min ? this.shards[i] : this.shards[j];
+    			if (shard.min == EMPTY)
+    			{
+    				if (++misses >= this.shards.length)
+    				{
+    					return deleteFromAnyShard();
+    				}
+    				continue;
+    			}
+    			if (!shard.lock.tryLock())
+    			{
+    				this.lockFailures.increment();
+    				continue;
+    			}
+    			FibonacciHeap<V>.HeapNode node;
+    			try
+    			{
+    				node = shard.deleteMin();
+    			}
+    			finally
+    			{
+    				shard.lock.unlock();
+    			}
+    			if (node != null)
+    			{
+    				deleted(node, random);
+    				return node;
+    			}
+    		}
+    	}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if all the shards are empty (a moment's view when other threads insert)
+        * complexity: O(c*threads)
+        */
+    	public boolean isEmpty()
+    	{
+    		for (Shard<V> shard : this.shards)
+    		{
+    			if (shard.min != EMPTY)
+    			{
+    				return false;
+    			}
+    		}
+    		return true;
+    	}
+
+       /**
+        * public int numOfShards()
+        *
+        * Return the number of shards
+        * complexity: O(1)
+        */
+    	public int numOfShards()
+    	{
+    		return this.shards.length;
+    	}
+
+       /**
+        * public Statistics statistics()
+        *
+        * Return the statistics collected since the queue was created or since the last resetStatistics()
+        * complexity: O(1)
+        */
+    	public Statistics statistics()
+    	{
+    		return new Statistics(System.nanoTime() - this.statisticsStart, this.inserts.sum(),
+    				this.deletions.sum(), this.lockFailures.sum(), this.rankErrorSamples.sum(),
+    				this.rankErrorSum.sum(), this.rankErrorMax.get());
+    	}
+
+       /**
+        * public void resetStatistics()
+        *
+        * Starts collecting the statistics from zero
+        * complexity: O(1)
+        */
+    	public void resetStatistics()
+    	{
+    		this.inserts.reset();
+    		this.deletions.reset();
+    		this.lockFailures.reset();
+    		this.rankErrorSamples.reset();
+    		this.rankErrorSum.reset();
+    		this.rankErrorMax.reset();
+    		this.statisticsStart = System.nanoTime();
+    	}
+
+        /**
+         * private FibonacciHeap<V>.HeapNode deleteFromAnyShard()
+         *
+         * deletes the minimum of the first non-empty shard, waiting for its lock, or returns null
+         * if all the shards are empty
+         * complexity: O(c*threads + log n)
+         */
+    	private FibonacciHeap<V>.HeapNode deleteFromAnyShard()
+    	{
+    		for (Shard<V> shard : this.shards)
+    		{
+    			if (shard.min != EMPTY)
+    			{
+    				FibonacciHeap<V>.HeapNode node;
+    				shard.lock.lock();
+    				try
+    				{
+    					node = shard.deleteMin();
+    				}
+    				finally
+    				{
+    					shard.lock.unlock();
+    				}
+    				if (node != null)
+    				{
+    					deleted(node, ThreadLocalRandom.current());
+    					return node;
+    				}
+    			}
+    		}
+    		return null;
+    	}
+
+        /**
+         * private void deleted(FibonacciHeap<V>.HeapNode node, ThreadLocalRandom random)
+         *
+         * counts a deletion, and on a sample of the deletions, its rank error: the number of shards
+         * whose minimum is smaller than the deleted key (a lower bound of the number of smaller keys)
+         * complexity: O(1) expected
+         */
+    	private void deleted(FibonacciHeap<V>.HeapNode node, ThreadLocalRandom random)
+    	{
+    		this.deletions.increment();
+    		if ((random.nextInt() & SAMPLE_MASK) == 0)
+    		{
+    			long rankError = 0;
+    			for (Shard<V> shard : this.shards)
+    			{
+    				if (shard.min < node.key)
+    				{
+    					rankError++;
+    				}
+    			}
+    			this.rankErrorSamples.increment();
+    			this.rankErrorSum.add(rankError);
+    			this.rankErrorMax.accumulate(rankError);
+    		}
+    	}
+
+       /**
+        * private static final class Shard
+        *
+        * One heap of the queue, its lock, and its minimum key cached for lock-free reads.
+        */
+    	private static final class Shard<V>
+    	{
+    		final ReentrantLock lock = new ReentrantLock();
+    		final FibonacciHeap<V> heap = new FibonacciHeap<>(); //guarded by lock
+    		volatile long min = EMPTY; //the minimal key in heap, written under lock
+
+    		FibonacciHeap<V>.HeapNode deleteMin() //@pre: lock is held
+    		{
+    			FibonacciHeap<V>.HeapNode node = this.heap.findMin();
+    			if (node != null)
+    			{
+    				this.heap.deleteMin();
+    				this.min = this.heap.isEmpty() ? EMPTY : this.heap.findMin().key;
+    			}
+    			return node;
+    		}
+    	}
+
+       /**
+        * public static final class Statistics
+        *
+        * A snapshot of the statistics of a MultiFibonacciQueue.
+        */
+    	public static final class Statistics
+    	{
+    		private final long nanos;
+    		private final long inserts;
+    		private final long deletions;
+    		private final long lockFailures;
+    		private final long rankErrorSamples;
+    		private final long rankErrorSum;
+    		private final long rankErrorMax;
+
+    		private Statistics(long nanos, long inserts, long deletions, long lockFailures,
+    				long rankErrorSamples, long rankErrorSum, long rankErrorMax)
+    		{
+    			this.nanos = nanos;
+    			this.inserts = inserts;
+    			this.deletions = deletions;
+    			this.lockFailures = lockFailures;
+    			this.rankErrorSamples = rankErrorSamples;
+    			this.rankErrorSum = rankErrorSum;
+    			this.rankErrorMax = rankErrorMax;
+    		}
+
+    		public long getInserts()
+    		{
+    			return this.inserts;
+    		}
+
+    		public long getDeletions()
+    		{
+    			return this.deletions;
+    		}
+
+    		public long getLockFailures() //num of tryLock calls that failed
+    		{
+    			return this.lockFailures;
+    		}
+
+    		public double getThroughput() //inserts and deletions per second
+    		{
+    			return this.nanos == 0 ? 0 : (this.inserts + this.deletions) * 1e9 / this.nanos;
+    		}
+
+    		public double getMeanRankError()
+    		{
+    			return this.rankErrorSamples == 0 ? 0 : (double) this.rankErrorSum / this.rankErrorSamples;
+    		}
+
+    		public long getMaxRankError()
+    		{
+    			return this.rankErrorMax;
+    		}
+
+    		@Override
+    		public String toString()
+    		{
+    			return String.format("inserts=%d deletions=%d lockFailures=%d throughput=%.0f ops/s "
+    					+ "rankError(mean=%.2f, max=%d)", this.inserts, this.deletions, this.lockFailures,
+    					getThroughput(), getMeanRankError(), this.rankErrorMax);
+    		}
+    	}
+    }
+
+   /**
+    * public static class RadixHeap
+    *
+    * A radix heap over int keys for monotone workloads, where a key is never smaller than the last
+    * minimum (the key of the last node returned by findMin or deleted by deleteMin), like in Dijkstra's
+    * algorithm with non-negative weights or in an event time queue. A node is kept in bucket
+    * 32 - numberOfLeadingZeros(key ^ last), the position of the highest bit where its key differs from
+    * the last minimum. When bucket 0 (the keys equal to the last minimum) is empty, the first non-empty
+    * bucket is scanned for the new minimum and its nodes move to lower buckets.
+    * A node moves down at most 32 times, so every operation is O(1) amortized.
+    */
+    public static class RadixHeap<V>
+    {
+    	private static final int BUCKETS = 33;
+
+    	private final Node<V>[] buckets; //the first node of every bucket (the buckets are chained by next)
+    	private int last = Integer.MIN_VALUE; //the last minimum
+    	private int n; //num of nodes in the heap
+
+    	@SuppressWarnings("unchecked")
+    	public RadixHeap()
+    	{
+    		this.buckets = (Node<V>[]) new Node<?>[BUCKETS];
+    	}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if and only if the heap is empty.
+        * complexity: O(1)
+        */
+    	public boolean isEmpty()
+    	{
+    		return this.n == 0;
+    	}
+
+       /**
+        * public Node<V> insert(int key, V value)
+        *
+        * Creates a node which contains the given key and value, and inserts it into the heap.
+        * Throws IllegalArgumentException if key is smaller than the last minimum.
+        * complexity: O(1)
+        */
+    	public Node<V> insert(int key, V value)
+    	{
+    		checkMonotone(key);
+    		Node<V> node = new Node<>(key, value);
+    		add(node);
+    		this.n++;
+    		return node;
+    	}
+
+       /**
+        * public Node<V> insert(int key)
+        *
+        * Inserts a node with the given key (and no value).
+        * complexity: O(1)
+        */
+    	public Node<V> insert(int key)
+    	{
+    		return insert(key, null);
+    	}
+
+       /**
+        * public Node<V> findMin()
+        *
+        * Return the node whose key is minimal (null if the heap is empty).
+        * Its key becomes the last minimum, so later keys may not be smaller.
+        * complexity: O(1) amortized
+        */
+    	public Node<V> findMin()
+    	{
+    		if (this.n == 0)
+    		{
+    			return null;
+    		}
+    		if (this.buckets[0] == null)
+    		{
+    			redistribute();
+    		}
+    		return this.buckets[0];
+    	}
+
+       /**
+        * public void deleteMin()
+        *
+        * Delete the node containing the minimum key.
+        * complexity: O(1) amortized
+        */
+    	public void deleteMin()
+    	{
+    		Node<V> min = findMin();
+    		if (min != null)
+    		{
+    			remove(min);
+    			this.n--;
+    		}
+    	}
+
+       /**
+        * public void decreaseKey(Node<V> x, int delta)
+        *
+        * The function decreases the key of the node x by delta. Throws IllegalArgumentException
+        * if the new key would be smaller than the last minimum.
+        * complexity: O(1)
+        */
+    	public void decreaseKey(Node<V> x, int delta)
+    	{
+    		if (delta > 0) //if delta <= 0 we do nothing
+    		{
+    			long key = (long) x.key - delta;
+    			checkMonotone(key);
+    			remove(x);
+    			x.key = (int) key;
+    			add(x);
+    		}
+    	}
+
+       /**
+        * public void delete(Node<V> x)
+        *
+        * Deletes the node x from the heap.
+        * complexity: O(1)
+        */
+    	public void delete(Node<V> x)
+    	{
+    		remove(x);
+    		this.n--;
+    	}
+
+       /**
+        * public int size()
+        *
+        * Return the number of elements in the heap
+        * complexity: O(1)
+        */
+    	public int size()
+    	{
+    		return this.n;
+    	}
+
+        /**
+         * private void redistribute()
+         *
+         * @pre: bucket 0 is empty and the heap isn't empty
+         * makes the minimal key of the first non-empty bucket the last minimum, and moves the nodes
+         * of that bucket to lower buckets (the minimum to bucket 0)
+         * complexity: O(size of the bucket)
+         */
+    	private void redistribute()
+    	{
+    		int i = 1;
+    		while (this.buckets[i] == null)
+    		{
+    			i++;
+    		}
+    		Node<V> node = this.buckets[i];
+    		int min = node.key;
+    		for (Node<V> x = node.next; x != null; x = x.next)
+    		{
+    			min = Math.min(min, x.key);
+    		}
+    		this.last = min;
+    		this.buckets[i] = null;
+    		while (node != null) //every key now differs from last in a lower bit
+    		{
+    			Node<V> next = node.next;
+    			add(node);
+    			node = next;
+    		}
+    	}
+
+        /**
+         * private void add(Node<V> x)
+         *
+         * adds x to the beginning of the bucket of its key
+         * complexity: O(1)
+         */
+    	private void add(Node<V> x)
+    	{
+    		int bucket = 32 - Integer.numberOfLeadingZeros(x.key ^ this.last);
+    		Node<V> head = this.buckets[bucket];
+    		x.bucket = bucket;
+    		x.prev = null;
+    		x.next = head;
+    		if (head != null)
+    		{
+    			head.prev = x;
+    		}
+    		this.buckets[bucket] = x;
+    	}
+
+        /**
+         * private void remove(Node<V> x)
+         *
+         * removes x from its bucket
+         * complexity: O(1)
+         */
+    	private void remove(Node<V> x)
+    	{
+    		if (x.prev == null) //x is the first node of the bucket
+    		{
+    			this.buckets[x.bucket] = x.next;
+    		}
+    		else
+    		{
+    			x.prev.next = x.next;
+    		}
+    		if (x.next != null)
+    		{
+    			x.next.prev = x.prev;
+    		}
+    		x.prev = null;
+    		x.next = null;
+    	}
+
+    	private void checkMonotone(long key)
+    	{
+    		if (key < this.last)
+    		{
+    			throw new IllegalArgumentException("key " + key + " is smaller than the last minimum " + this.last);
+    		}
+    	}
+
+       /**
+        * public static class Node
+        *
+        * A node of a RadixHeap.
+        */
+    	public static class Node<V>
+    	{
+    		private int key; //the key of the node
+    		private V value; //the value attached to the node
+    		private int bucket; //the bucket the node is in
+    		private Node<V> prev; //the previous node in the bucket
+    		private Node<V> next; //the next node in the bucket
+
+    		private Node(int key, V value)
+    		{
+    			this.key = key;
+    			this.value = value;
+    		}
+
+    		public int getKey()
+    		{
+    			return this.key;
+    		}
+
+    		public V getValue()
+    		{
+    			return this.value;
+    		}
+
+    		public void setValue(V value)
+    		{
+    			this.value = value;
+    		}
+    	}
+    }
+
+   /**
+    * public static class PairingHeap
+    *
+    * A pairing heap over int keys: a single heap-ordered tree whose nodes keep their sons in a list
+    * (child is the leftmost son, next the right brother, and prev the left brother, or the parent of
+    * the leftmost son). decreaseKey cuts the node and links it with the root, and deleteMin merges the
+    * sons of the root in two passes (pairs from left to right, then from right to left).
+    * insert, meld and decreaseKey are O(1) (decreaseKey is o(log n) amortized), deleteMin and delete
+    * are O(log n) amortized.
+    */
+    public static class PairingHeap<V> implements AddressablePriorityQueue<V, PairingHeap.Node<V>>
+    {
+    	private Node<V> root; //the node with the minimal key
+    	private int n; //num of nodes in the heap
+
+       /**
+        * public Node<V> insert(int key, V value)
+        *
+        * Creates a node which contains the given key and value, and inserts it into the heap.
+        * complexity: O(1)
+        */
+    	@Override
+    	public Node<V> insert(int key, V value)
+    	{
+    		Node<V> node = new Node<>(key, value);
+    		this.root = this.root == null ? node : link(this.root, node);
+    		this.n++;
+    		return node;
+    	}
+
+       /**
+        * public Node<V> findMin()
+        *
+        * Return the node whose key is minimal (null if the heap is empty).
+        * complexity: O(1)
+        */
+    	@Override
+    	public Node<V> findMin()
+    	{
+    		return this.root;
+    	}
+
+       /**
+        * public void deleteMin()
+        *
+        * Delete the node containing the minimum key.
+        * complexity: O(log n) amortized
+        */
+    	@Override
+    	public void deleteMin()
+    	{
+    		if (this.root != null)
+    		{
+    			Node<V> x = this.root;
+    			this.root = mergeSons(x);
+    			x.child = null;
+    			this.n--;
+    		}
+    	}
+
+       /**
+        * public void decreaseKey(Node<V> x, int delta)
+        *
+        * The function decreases the key of the node x by delta, and if x isn't the root,
+        * cuts it from its parent and links it with the root.
+        * complexity: O(1)
+        */
+    	@Override
+    	public void decreaseKey(Node<V> x, int delta)
+    	{
+    		if (delta > 0) //if delta <= 0 we do nothing
+    		{
+    			x.key = x.key - delta;
+    			if (x != this.root)
+    			{
+    				detach(x);
+    				this.root = link(this.root, x);
+    			}
+    		}
+    	}
+
+       /**
+        * public void delete(Node<V> x)
+        *
+        * Deletes the node x from the heap: x is cut from its parent, and its merged sons are linked with the root.
+        * complexity: O(log n) amortized
+        */
+    	@Override
+    	public void delete(Node<V> x)
+    	{
+    		if (x == this.root)
+    		{
+    			deleteMin();
+    			return;
+    		}
+    		detach(x);
+    		Node<V> sons = mergeSons(x);
+    		x.child = null;
+    		if (sons != null)
+    		{
+    			this.root = link(this.root, sons);
+    		}
+    		this.n--;
+    	}
+
+       /**
+        * public void meld(AddressablePriorityQueue<V, Node<V>> heap2)
+        *
+        * Meld the heap with heap2, which must be a PairingHeap (heap2 becomes empty)
+        * complexity: O(1)
+        */
+    	@Override
+    	public void meld(AddressablePriorityQueue<V, Node<V>> heap2)
+    	{
+    		if (!(heap2 instanceof PairingHeap))
+    		{
+    			throw new IllegalArgumentException("a PairingHeap can only meld another PairingHeap");
+    		}
+    		PairingHeap<V> other = (PairingHeap<V>) heap2;
+    		if (other.root != null && other != this) //emptying other would empty this too
+    		{
+    			this.root = this.root == null ? other.root : link(this.root, other.root);
+    			this.n = this.n + other.n;
+    			other.root = null;
+    			other.n = 0;
+    		}
+    	}
+
+       /**
+        * public void clear()
+        *
+        * Deletes all the nodes, which are left to the garbage collector.
+        * complexity: O(1)
+        */
+    	@Override
+    	public void clear()
+    	{
+    		this.root = null;
+    		this.n = 0;
+    	}
+
+    	@Override
+    	public int size()
+    	{
+    		return this.n;
+    	}
+
+    	@Override
+    	public int key(Node<V> handle)
+    	{
+    		return handle.key;
+    	}
+
+    	@Override
+    	public V value(Node<V> handle)
+    	{
+    		return handle.value;
+    	}
+
+        /**
+         * private Node<V> link(Node<V> x, Node<V> y)
+         *
+         * @pre: x and y are roots of trees (without brothers)
+         * makes the root with the larger key the leftmost son of the other, and returns the new root
+         * complexity: O(1)
+         */
+    	private Node<V> link(Node<V> x, Node<V> y)
+    	{
+    		if (y.key < x.key) //make x the node with the smaller key
+    		{
+    			Node<V> tmp = x;
+    			x = y;
+    			y = tmp;
+    		}
+    		y.next = x.child;
+    		if (x.child != null)
+    		{
+    			x.child.prev = y;
+    		}
+    		y.prev = x;
+    		x.child = y;
+    		return x;
+    	}
+
+        /**
+         * private void detach(Node<V> x)
+         *
+         * @pre: x isn't the root
+         * removes the tree of x from the list of sons of its parent
+         * complexity: O(1)
+         */
+    	private void detach(Node<V> x)
+    	{
+    		if (x.prev.child == x) //x is the leftmost son, prev is its parent
+    		{
+    			x.prev.child = x.next;
+    		}
+    		else
+    		{
+    			x.prev.next = x.next;
+    		}
+    		if (x.next != null)
+    		{
+    			x.next.prev = x.prev;
+    		}
+    		x.prev = null;
+    		x.next = null;
+    	}
+
+        /**
+         * private Node<V> mergeSons(Node<V> x)
+         *
+         * merges the sons of x into one tree in two passes, and returns its root (null if x has no sons).
+         * The first pass links the sons in pairs from left to right and keeps the pairs in a stack
+         * (chained by next), the second links the pairs from right to left.
+         * complexity: O(#sons)
+         */
+    	private Node<V> mergeSons(Node<V> x)
+    	{
+    		Node<V> son = x.child;
+    		Node<V> pairs = null; //the stack of linked pairs
+    		while (son != null)
+    		{
+    			Node<V> second = son.next;
+    			Node<V> rest = second == null ? null : second.next;
+    			son.prev = null;
+    			son.next = null;
+    			Node<V> pair = son;
+    			if (second != null)
+    			{
+    				second.prev = null;
+    				second.next = null;
+    				pair = link(son, second);
+    			}
+    			pair.next = pairs;
+    			pairs = pair;
+    			son = rest;
+    		}
+    		if (pairs == null)
+    		{
+    			return null;
+    		}
+    		Node<V> tree = pairs;
+    		pairs = pairs.next;
+    		tree.next = null;
+    		while (pairs != null)
+    		{
+    			Node<V> pair = pairs;
+    			pairs = pairs.next;
+    			pair.next = null;
+    			tree = link(tree, pair);
+    		}
+    		return tree;
+    	}
+
+       /**
+        * public static class Node
+        *
+        * A node of a PairingHeap.
+        */
+    	public static class Node<V>
+    	{
+    		private int key; //the key of the node
+    		private V value; //the value attached to the node
+    		private Node<V> child; //the leftmost son of the node
+    		private Node<V> next; //the right brother of the node
+    		private Node<V> prev; //the left brother of the node, or its parent if it is the leftmost son
+
+    		private Node(int key, V value)
+    		{
+    			this.key = key;
+    			this.value = value;
+    		}
+
+    		public int getKey()
+    		{
+    			return this.key;
+    		}
+
+    		public V getValue()
+    		{
+    			return this.value;
+    		}
+
+    		public void setValue(V value)
+    		{
+    			this.value = value;
+    		}
+    	}
+    }
+
+   /**
+    * public static class BlockingFibonacciQueue
+    *
+    * An unbounded BlockingQueue of int keys in ascending order, backed by a FibonacciHeap and guarded
+    * by a ReentrantLock (which, unlike synchronized, does not pin a virtual thread while it waits).
+    * take() and poll(timeout) park the waiting thread on a condition, and every insert wakes exactly
+    * one waiter. The iterator returns a sorted snapshot of the keys and does not support remove.
+    */
+    public static class BlockingFibonacciQueue extends AbstractQueue<Integer> implements BlockingQueue<Integer>
+    {
+    	private final ReentrantLock lock = new ReentrantLock();
+    	private final Condition notEmpty = this.lock.newCondition();
+    	private final FibonacciHeap<Void> heap = new FibonacciHeap<>(true); //guarded by lock
+
+       /**
+        * public boolean offer(Integer key)
+        *
+        * Inserts the key and wakes one waiting thread. Always returns true.
+        * complexity: O(1)
+        */
+    	@Override
+    	public boolean offer(Integer key)
+    	{
+    		int k = key; //throws NullPointerException before locking
+    		this.lock.lock();
+    		try
+    		{
+    			this.heap.insert(k);
+    			this.notEmpty.signal();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    		return true;
+    	}
+
+    	@Override
+    	public void put(Integer key)
+    	{
+    		offer(key);
+    	}
+
+    	@Override
+    	public boolean offer(Integer key, long timeout, TimeUnit unit)
+    	{
+    		return offer(key); //never blocks, the queue is unbounded
+    	}
+
+       /**
+        * public Integer take()
+        *
+        * Removes and returns the minimal key, waiting until there is one.
+        * complexity: O(log n) amortized
+        */
+    	@Override
+    	public Integer take() throws InterruptedException
+    	{
+    		this.lock.lockInterruptibly();
+    		try
+    		{
+    			while (this.heap.isEmpty())
+    			{
+    				this.notEmpty.await();
+    			}
+    			return removeMin();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public Integer poll(long timeout, TimeUnit unit)
+        *
+        * Removes and returns the minimal key, waiting up to timeout until there is one
+        * (returns null if there is none by then).
+        * complexity: O(log n) amortized
+        */
+    	@Override
+    	public Integer poll(long timeout, TimeUnit unit) throws InterruptedException
+    	{
+    		long nanos = unit.toNanos(timeout);
+    		this.lock.lockInterruptibly();
+    		try
+    		{
+    			while (this.heap.isEmpty())
+    			{
+    				if (nanos <= 0)
+    				{
+    					return null;
+    				}
+    				nanos = this.notEmpty.awaitNanos(nanos);
+    			}
+    			return removeMin();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+    	@Override
+    	public Integer poll()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			return this.heap.isEmpty() ? null : removeMin();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+    	@Override
+    	public Integer peek()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			return this.heap.isEmpty() ? null : this.heap.findMin().key;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+    	@Override
+    	public int size()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			return this.heap.size();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+    	@Override
+    	public int remainingCapacity()
+    	{
+    		return Integer.MAX_VALUE;
+    	}
+
+    	@Override
+    	public int drainTo(Collection<? super Integer> c)
+    	{
+    		return drainTo(c, Integer.MAX_VALUE);
+    	}
+
+       /**
+        * public int drainTo(Collection<? super Integer> c, int maxElements)
+        *
+        * Moves up to maxElements of the minimal keys, in ascending order, to c and returns their number.
+        * complexity: O(maxElements * log n) amortized
+        */
+    	@Override
+    	public int drainTo(Collection<? super Integer> c, int maxElements)
+    	{
+    		Objects.requireNonNull(c);
+    		if (c == this)
+    		{
+    			throw new IllegalArgumentException("can't drain a queue to itself");
+    		}
+    		this.lock.lock();
+    		try
+    		{
+    			int count = 0;
+    			while (count < maxElements && !this.heap.isEmpty())
+    			{
+    				c.add(this.heap.findMin().key);
+    				this.heap.deleteMin(); //after add, so a failed add loses nothing
+    				count++;
+    			}
+    			return count;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public Iterator<Integer> iterator()
+        *
+        * Returns an iterator over a sorted snapshot of the keys.
+        * complexity: O(n log n)
+        */
+    	@Override
+    	public Iterator<Integer> iterator()
+    	{
+    		int[] keys;
+    		this.lock.lock();
+    		try
+    		{
+    			keys = this.heap.sorted().toArray();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    		return Arrays.stream(keys).iterator();
+    	}
+
+    	private int removeMin() //@pre: the lock is held and the heap isn't empty
+    	{
+    		int key = this.heap.findMin().key;
+    		this.heap.deleteMin();
+    		return key;
+    	}
+    }
+
+   /**
+    * public static class DelayFibonacciQueue
+    *
+    * A DelayQueue-style queue of values with deadlines (in System.nanoTime() units) on a
+    * LongFibonacciHeap: take() returns a value once its deadline has passed. Waiting follows the
+    * leader/follower pattern of java.util.concurrent.DelayQueue - only one waiting thread (the leader)
+    * sleeps until the earliest deadline, the others wait without a timeout, so at most one thread
+    * wakes when the head becomes due. An insert or a decreaseKey which makes a node the earliest
+    * wakes exactly one waiter, to wait for the new deadline.
+    */
+    public static class DelayFibonacciQueue<V>
+    {
+    	private final ReentrantLock lock = new ReentrantLock();
+    	private final Condition available = this.lock.newCondition();
+    	private final LongFibonacciHeap<V> heap = new LongFibonacciHeap<>(); //guarded by lock
+    	private Thread leader; //the thread waiting for the earliest deadline, guarded by lock
+
+       /**
+        * public int insert(long deadline, V value)
+        *
+        * Inserts the value with the given deadline (compared with System.nanoTime()) and returns the
+        * handle of its node, which is valid until the value is taken or deleted.
+        * complexity: O(1) amortized
+        */
+    	public int insert(long deadline, V value)
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			int node = this.heap.insert(deadline, value);
+    			newHead(node);
+    			return node;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public void decreaseKey(int x, long delta)
+        *
+        * Moves the deadline of the node x (which was not taken or deleted) earlier by delta.
+        * complexity: O(1) amortized
+        */
+    	public void decreaseKey(int x, long delta)
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			this.heap.decreaseKey(x, delta);
+    			newHead(x);
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public void delete(int x)
+        *
+        * Deletes the node x (which was not taken or deleted) from the queue.
+        * complexity: O(log n) amortized
+        */
+    	public void delete(int x)
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			this.heap.delete(x); //a leader waiting for x wakes at its deadline and waits again
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+       /**
+        * public V take()
+        *
+        * Removes and returns the value with the earliest deadline, waiting until that deadline passes.
+        * complexity: O(log n) amortized
+        */
+    	public V take() throws InterruptedException
+    	{
+    		this.lock.lockInterruptibly();
+    		try
+    		{
+    			while (true)
+    			{
+    				int first = this.heap.findMin();
+    				if (first == LongFibonacciHeap.NONE)
+    				{
+    					this.available.await();
+    					continue;
+    				}
+    				long delay = this.heap.getKey(first) - System.nanoTime();
+    				if (delay <= 0)
+    				{
+    					V value = this.heap.getValue(first);
+    					this.heap.deleteMin();
+    					return value;
+    				}
+    				awaitHead(delay);
+    			}
+    		}
+    		finally
+    		{
+    			afterWait();
+    		}
+    	}
+
+       /**
+        * public V poll(long timeout, TimeUnit unit)
+        *
+        * Removes and returns the value with the earliest deadline, waiting up to timeout until
+        * it passes (returns null if no deadline passes by then).
+        * complexity: O(log n) amortized
+        */
+    	public V poll(long timeout, TimeUnit unit) throws InterruptedException
+    	{
+    		long nanos = unit.toNanos(timeout);
+    		this.lock.lockInterruptibly();
+    		try
+    		{
+    			while (true)
+    			{
+    				int first = this.heap.findMin();
+    				if (first == LongFibonacciHeap.NONE)
+    				{
+    					if (nanos <= 0)
+    					{
+    						return null;
+    					}
+    					nanos = this.available.awaitNanos(nanos);
+    					continue;
+    				}
+    				long delay = this.heap.getKey(first) - System.nanoTime();
+    				if (delay <= 0)
+    				{
+    					V value = this.heap.getValue(first);
+    					this.heap.deleteMin();
+    					return value;
+    				}
+    				if (nanos <= 0)
+    				{
+    					return null;
+    				}
+    				if (nanos < delay || this.leader != null) //not the one to wait for the head
+    				{
+    					nanos = this.available.awaitNanos(nanos);
+    				}
+    				else
+    				{
+    					Thread thisThread = Thread.currentThread();
+    					this.leader = thisThread;
+    					try
+    					{
+    						nanos -= delay - this.available.awaitNanos(delay);
+    					}
+    					finally
+    					{
+    						if (this.leader == thisThread)
+    						{
+    							this.leader = null;
+    						}
+    					}
+    				}
+    			}
+    		}
+    		finally
+    		{
+    			afterWait();
+    		}
+    	}
+
+       /**
+        * public V poll()
+        *
+        * Removes and returns the value with the earliest deadline if it has passed, or returns null.
+        * complexity: O(log n) amortized
+        */
+    	public V poll()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			int first = this.heap.findMin();
+    			if (first == LongFibonacciHeap.NONE || this.heap.getKey(first) - System.nanoTime() > 0)
+    			{
+    				return null;
+    			}
+    			V value = this.heap.getValue(first);
+    			this.heap.deleteMin();
+    			return value;
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+    	public int size()
+    	{
+    		this.lock.lock();
+    		try
+    		{
+    			return this.heap.size();
+    		}
+    		finally
+    		{
+    			this.lock.unlock();
+    		}
+    	}
+
+        /**
+         * private void newHead(int node)
+         *
+         * @pre: the lock is held
+         * if node became the earliest, the leader (waiting for the previous head) is dropped and
+         * one waiter is woken to wait for the new deadline
+         * complexity: O(1)
+         */
+    	private void newHead(int node)
+    	{
+    		if (this.heap.findMin() == node)
+    		{
+    			this.leader = null;
+    			this.available.signal();
+    		}
+    	}
+
+        /**
+         * private void awaitHead(long delay)
+         *
+         * @pre: the lock is held and the earliest deadline is delay nanoseconds away
+         * becomes the leader and waits for the deadline, or waits until signalled if there is a leader
+         */
+    	private void awaitHead(long delay) throws InterruptedException
+    	{
+    		if (this.leader != null)
+    		{
+    			this.available.await();
+    			return;
+    		}
+    		Thread thisThread = Thread.currentThread();
+    		this.leader = thisThread;
+    		try
+    		{
+    			this.available.awaitNanos(delay);
+    		}
+    		finally
+    		{
+    			if (this.leader == thisThread)
+    			{
+    				this.leader = null;
+    			}
+    		}
+    	}
+
+        /**
+         * private void afterWait()
+         *
+         * @pre: the lock is held
+         * passes the leadership on (if no thread leads and the queue isn't empty) and unlocks
+         */
+    	private void afterWait()
+    	{
+    		if (this.leader == null && !this.heap.isEmpty())
+    		{
+    			this.available.signal();
+    		}
+    		this.lock.unlock();
+    	}
+    }
+
+   /**
+    * public static final class TimerService
+    *
+    * A single-threaded flat timer queue (for timeouts, like those of a connection manager) over a
+    * LongFibonacciHeap keyed by deadline. It is not a hierarchical timing wheel: all the timers are
+    * in one heap, whatever their deadlines, with no levels of different resolutions. A deadline is
+    * a long in any unit the caller picks (for example System.nanoTime() or milliseconds), compared
+    * as a plain long, so any two deadlines are ordered correctly, however far apart.
+    * Moving a timer earlier is a decreaseKey. Moving it later doesn't touch the heap: the timer keeps
+    * its node under the old (earlier) key, and when that node reaches the front it is inserted again
+    * under the current deadline. So a timer which is pushed later many times (a keepalive that is
+    * renewed on every read) costs one deleteMin when its old deadline passes, not one per reschedule.
+    * Cancelling a timer deletes its node without consolidating, so it is cheap too.
+    */
+    public static final class TimerService<V>
+    {
+    	private final LongFibonacciHeap<Timer<V>> heap = new LongFibonacciHeap<>(); //a node's key is at most its timer's deadline
+
+       /**
+        * public Timer<V> schedule(long deadline, V value)
+        *
+        * Schedules a timer which fires with the given value once advanceTo reaches deadline.
+        * complexity: O(1)
+        */
+    	public Timer<V> schedule(long deadline, V value)
+    	{
+    		Timer<V> timer = new Timer<>(deadline, value);
+    		timer.node = this.heap.insert(deadline, timer);
+    		return timer;
+    	}
+
+       /**
+        * public void reschedule(Timer<V> timer, long deadline)
+        *
+        * Moves the deadline of a pending timer (throws IllegalStateException if it fired or was cancelled).
+        * complexity: O(1) amortized
+        */
+    	public void reschedule(Timer<V> timer, long deadline)
+    	{
+    		int node = timer.node;
+    		if (node == LongFibonacciHeap.NONE)
+    		{
+    			throw new IllegalStateException("the timer already fired or was cancelled");
+    		}
+    		long key = this.heap.getKey(node);
+    		if (Long.compare(deadline, key) < 0)
+    		{
+    			long delta = key - deadline;
+    			if (delta > 0)
+    			{
+    				this.heap.decreaseKey(node, delta);
+    			}
+    			else //the distance overflows a long (a deadline near Long.MIN_VALUE), move the node instead
+    			{
+    				this.heap.delete(node);
+    				timer.node = this.heap.insert(deadline, timer);
+    			}
+    		}
+    		timer.deadline = deadline; //if later than the key, the node is re-keyed when it reaches the front
+    	}
+
+       /**
+        * public boolean cancel(Timer<V> timer)
+        *
+        * Cancels a pending timer. Returns false if it already fired or was cancelled.
+        * complexity: O(1) amortized, O(log n) amortized if the timer has the earliest key
+        */
+    	public boolean cancel(Timer<V> timer)
+    	{
+    		if (timer.node == LongFibonacciHeap.NONE)
+    		{
+    			return false;
+    		}
+    		this.heap.delete(timer.node);
+    		timer.node = LongFibonacciHeap.NONE;
+    		return true;
+    	}
+
+       /**
+        * public int advanceTo(long now, Consumer<? super V> action)
+        *
+        * Fires every timer whose deadline is at most now, in the order of the deadlines: the timer stops
+        * being pending and action is called with its value. action may schedule, reschedule and cancel
+        * timers (a timer it schedules at or before now fires in the same call).
+        * Returns the number of timers fired.
+        * complexity: O((fired + re-keyed) * log n) amortized
+        */
+    	public int advanceTo(long now, Consumer<? super V> action)
+    	{
+    		int fired = 0;
+    		while (true)
+    		{
+    			int node = this.heap.findMin();
+    			if (node == LongFibonacciHeap.NONE || Long.compare(this.heap.getKey(node), now) > 0)
+    			{
+    				return fired;
+    			}
+    			Timer<V> timer = this.heap.getValue(node);
+    			long key = this.heap.getKey(node);
+    			this.heap.deleteMin();
+    			if (Long.compare(timer.deadline, key) > 0) //the timer was moved later, put it back in its place
+    			{
+    				timer.node = this.heap.insert(timer.deadline, timer);
+    				continue;
+    			}
+    			timer.node = LongFibonacciHeap.NONE;
+    			fired++;
+    			action.accept(timer.value);
+    		}
+    	}
+
+       /**
+        * public long nextDeadline()
+        *
+        * Return the earliest deadline of a pending timer, or Long.MAX_VALUE if there is none.
+        * complexity: O(re-keyed * log n) amortized
+        */
+    	public long nextDeadline()
+    	{
+    		while (true)
+    		{
+    			int node = this.heap.findMin();
+    			if (node == LongFibonacciHeap.NONE)
+    			{
+    				return Long.MAX_VALUE;
+    			}
+    			Timer<V> timer = this.heap.getValue(node);
+    			if (timer.deadline == this.heap.getKey(node))
+    			{
+    				return timer.deadline;
+    			}
+    			this.heap.deleteMin(); //re-key the timer so the front holds a real deadline
+    			timer.node = this.heap.insert(timer.deadline, timer);
+    		}
+    	}
+
+       /**
+        * public int size()
+        *
+        * Return the number of pending timers
+        * complexity: O(1)
+        */
+    	public int size()
+    	{
+    		return this.heap.size();
+    	}
+
+       /**
+        * public static final class Timer
+        *
+        * A timer of a TimerService.
+        */
+    	public static final class Timer<V>
+    	{
+    		private long deadline; //the current deadline, at least the key of node
+    		private final V value;
+    		private int node = LongFibonacciHeap.NONE; //the node of the timer, NONE once it fired or was cancelled
+
+    		private Timer(long deadline, V value)
+    		{
+    			this.deadline = deadline;
+    			this.value = value;
+    		}
+
+    		public long getDeadline()
+    		{
+    			return this.deadline;
+    		}
+
+    		public V getValue()
+    		{
+    			return this.value;
+    		}
+
+    		public boolean isPending()
+    		{
+    			return this.node != LongFibonacciHeap.NONE;
+    		}
+    	}
+    }
+
+   /**
+    * public static final class SpillingFibonacciQueue
+    *
+    * A priority queue of int keys for more keys than fit in memory. At most memoryBudget keys are kept
+    * in memory, in a pooled FibonacciHeap. When an insert finds the heap full, the larger half of its
+    * keys (found by a quickselect) is written, sorted, to a run file in the given directory, and then
+    * removed from the heap (deleted without consolidating, so the smaller half keeps its trees and the
+    * nodes go back to the pool). The runs are merged back lazily: their smallest unread keys (heads) are kept in
+    * a second FibonacciHeap, and a deleteMin takes either the minimum of the heap or the smallest head,
+    * reading the run on from a block buffer. The runs are merged in tiers, like the levels of an
+    * LSM tree: a spill makes a run of level 0, and once FAN_IN runs have the same level they are merged
+    * into one run of the next level. So every key is written O(log_FAN_IN(keys / memoryBudget)) times,
+    * and there are at most FAN_IN - 1 runs of every level.
+    * The files are read and written sequentially in blocks, and are deleted when they are read to
+    * the end or the queue is closed. I/O errors are thrown as UncheckedIOException.
+    */
+    public static final class SpillingFibonacciQueue implements AutoCloseable
+    {
+    	private static final int BLOCK = 1 << 16; //the bytes of a run read or written at once
+    	private static final int FAN_IN = 16; //the num of runs of a level which are merged into one
+
+    	private final int memoryBudget;
+    	private final Path directory;
+    	private final FibonacciHeap<Void> memory = new FibonacciHeap<>(true); //at most memoryBudget keys
+    	private int[] spillKeys; //the keys of memory while spilling, allocated by the first spill
+    	private FibonacciHeap<Void>.HeapNode[] spillNodes; //the nodes of memory while spilling
+    	private final FibonacciHeap<Run> runs = new FibonacciHeap<>(true); //every run keyed by its head
+    	private final List<List<Run>> levels = new ArrayList<>(); //the runs of every level
+    	private final FibonacciHeap<Run> merging = new FibonacciHeap<>(true); //the runs of a merge keyed by their heads
+    	private final ByteBuffer output = ByteBuffer.allocateDirect(BLOCK).order(ByteOrder.nativeOrder());
+    	private long size; //num of keys in the queue, in memory and in the runs
+    	private long spilled; //num of keys ever written to runs, including merges
+
+       /**
+        * public SpillingFibonacciQueue(int memoryBudget, Path directory)
+        *
+        * creates an empty queue which keeps at most memoryBudget (at least 2) keys in memory
+        * and writes its runs to temporary files in directory
+        */
+    	public SpillingFibonacciQueue(int memoryBudget, Path directory)
+    	{
+    		if (memoryBudget < 2)
+    		{
+    			throw new IllegalArgumentException("the memory budget should be at least 2 keys");
+    		}
+    		this.memoryBudget = memoryBudget;
+    		this.directory = Objects.requireNonNull(directory);
+    	}
+
+       /**
+        * public SpillingFibonacciQueue(int memoryBudget)
+        *
+        * creates an empty queue which writes its runs to the default temporary directory
+        */
+    	public SpillingFibonacciQueue(int memoryBudget)
+    	{
+    		this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    	}
+
+       /**
+        * public void insert(int key)
+        *
+        * Inserts the key, spilling the larger half of the keys in memory to a run if the memory is full.
+        * complexity: O(1), plus O(log memoryBudget) amortized for the spills and their merges
+        */
+    	public void insert(int key)
+    	{
+    		if (this.memory.size() == this.memoryBudget)
+    		{
+    			spill();
+    		}
+    		this.memory.insert(key);
+    		this.size++;
+    	}
+
+       /**
+        * public int findMin()
+        *
+        * Return the minimal key (throws NoSuchElementException if the queue is empty).
+        * complexity: O(1)
+        */
+    	public int findMin()
+    	{
+    		FibonacciHeap<Void>.HeapNode min = this.memory.findMin();
+    		FibonacciHeap<Run>.HeapNode head = this.runs.findMin();
+    		if (min == null && head == null)
+    		{
+    			throw new NoSuchElementException("the queue is empty");
+    		}
+    		if (head == null || (min != null && min.key <= head.key))
+    		{
+    			return min.key;
+    		}
+    		return head.key;
+    	}
+
+       /**
+        * public void deleteMin()
+        *
+        * Deletes the minimal key, from memory or from the run which holds it
+        * (throws NoSuchElementException if the queue is empty, like findMin).
+        * complexity: O(log memoryBudget + log runs) amortized, plus a block read every BLOCK/4 keys of a run
+        */
+    	public void deleteMin()
+    	{
+    		FibonacciHeap<Void>.HeapNode min = this.memory.findMin();
+    		FibonacciHeap<Run>.HeapNode head = this.runs.findMin();
+    		if (min == null && head == null)
+    		{
+    			throw new NoSuchElementException("the queue is empty");
+    		}
+    		if (head == null || (min != null && min.key <= head.key))
+    		{
+    			this.memory.deleteMin();
+    		}
+    		else
+    		{
+    			nextOfRun();
+    		}
+    		this.size--;
+    	}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if and only if the queue is empty.
+        * complexity: O(1)
+        */
+    	public boolean isEmpty()
+    	{
+    		return this.size == 0;
+    	}
+
+       /**
+        * public long size()
+        *
+        * Return the number of keys in the queue, in memory and in the runs
+        * complexity: O(1)
+        */
+    	public long size()
+    	{
+    		return this.size;
+    	}
+
+       /**
+        * public int numOfRuns()
+        *
+        * Return the number of runs which weren't read to the end
+        * complexity: O(1)
+        */
+    	public int numOfRuns()
+    	{
+    		return this.runs.size();
+    	}
+
+       /**
+        * public long spilled()
+        *
+        * Return the number of keys written to runs so far (a key is written again by every merge of its run)
+        * complexity: O(1)
+        */
+    	public long spilled()
+    	{
+    		return this.spilled;
+    	}
+
+       /**
+        * public void close()
+        *
+        * Deletes all the keys and their run files.
+        * complexity: O(runs)
+        */
+    	@Override
+    	public void close()
+    	{
+    		IOException failure = null;
+    		while (!this.runs.isEmpty())
+    		{
+    			try
+    			{
+    				this.runs.findMin().getValue().channel.close(); //the file is deleted on close
+    			}
+    			catch (IOException e)
+    			{
+    				failure = e;
+    			}
+    			this.runs.deleteMin();
+    		}
+    		this.levels.clear();
+    		this.memory.clear();
+    		this.size = 0;
+    		if (failure != null)
+    		{
+    			throw new UncheckedIOException(failure);
+    		}
+    	}
+
+        /**
+         * private void spill()
+         *
+         * writes the larger half of the keys in memory to a new run of level 0 and keeps the smaller half,
+         * then merges the runs of every level which has FAN_IN of them. The keys leave memory only once
+         * their run is written, so a failed write loses no key (the queue stays full, and the next insert
+         * tries again).
+         * complexity: O(memoryBudget), plus the merges
+         */
+    	@SuppressWarnings("unchecked")
+    	private void spill()
+    	{
+    		if (this.spillKeys == null)
+    		{
+    			this.spillKeys = new int[this.memoryBudget];
+    			this.spillNodes = (FibonacciHeap<Void>.HeapNode[]) new FibonacciHeap<?>.HeapNode[this.memoryBudget];
+    		}
+    		int n = this.memory.size();
+    		int from = this.memory.selectLargest(n / 2, this.spillKeys, this.spillNodes);
+    		long spilledBefore = this.spilled;
+    		Run run = null;
+    		try
+    		{
+    			run = newRun(0);
+    			for (int i = from; i < n; i++)
+    			{
+    				write(run, this.spillKeys[i]);
+    			}
+    			flush(run.channel, this.output);
+    		}
+    		catch (IOException e)
+    		{
+    			Arrays.fill(this.spillNodes, 0, n, null);
+    			this.output.clear();
+    			this.spilled = spilledBefore;
+    			if (run != null)
+    			{
+    				try
+    				{
+    					run.channel.close(); //the file is deleted on close
+    				}
+    				catch (IOException suppressed)
+    				{
+    					e.addSuppressed(suppressed);
+    				}
+    			}
+    			throw new UncheckedIOException(e);
+    		}
+    		this.memory.removeSelected(from, this.spillKeys, this.spillNodes);
+    		try
+    		{
+    			addRun(run);
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    	}
+
+        /**
+         * private void mergeLevel(int level)
+         *
+         * merges the runs of the level into a single run of the next level, by taking their heads in order
+         * complexity: O(keys in the runs * log FAN_IN)
+         */
+    	private void mergeLevel(int level) throws IOException
+    	{
+    		List<Run> group = this.levels.get(level);
+    		for (Run run : group) //the current head of a run is the key of its node
+    		{
+    			this.merging.insert(run.node.key, run);
+    			this.runs.delete(run.node);
+    			run.node = null;
+    		}
+    		group.clear();
+    		Run merged = newRun(level + 1);
+    		while (!this.merging.isEmpty())
+    		{
+    			FibonacciHeap<Run>.HeapNode head = this.merging.findMin();
+    			Run run = head.getValue();
+    			write(merged, head.key);
+    			this.merging.deleteMin();
+    			if (run.remaining > 0)
+    			{
+    				this.merging.insert(run.next(), run);
+    			}
+    			else
+    			{
+    				run.channel.close();
+    			}
+    		}
+    		addRun(merged);
+    	}
+
+        /**
+         * private void nextOfRun()
+         *
+         * deletes the smallest head: the run with the smallest head reads its next key and is
+         * keyed by it, or is closed (and its file deleted) if it was read to the end
+         * complexity: O(log runs) amortized
+         */
+    	private void nextOfRun()
+    	{
+    		Run run = this.runs.findMin().getValue();
+    		this.runs.deleteMin();
+    		try
+    		{
+    			if (run.remaining > 0)
+    			{
+    				run.node = this.runs.insert(run.next(), run);
+    			}
+    			else
+    			{
+    				this.levels.get(run.level).remove(run); //at most FAN_IN - 1 runs
+    				run.channel.close();
+    			}
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    	}
+
+        /**
+         * private Run newRun(int level)
+         *
+         * creates an empty run of the given level in a new temporary file
+         * complexity: O(1)
+         */
+    	private Run newRun(int level) throws IOException
+    	{
+    		Path path = Files.createTempFile(this.directory, "fibonacci-run", ".bin");
+    		return new Run(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+    				StandardOpenOption.DELETE_ON_CLOSE), level);
+    	}
+
+        /**
+         * private void write(Run run, int key)
+         *
+         * appends the key to the run being written (keys are appended in ascending order)
+         * complexity: O(1) amortized
+         */
+    	private void write(Run run, int key) throws IOException
+    	{
+    		if (!this.output.hasRemaining())
+    		{
+    			flush(run.channel, this.output);
+    		}
+    		this.output.putInt(key);
+    		run.remaining++;
+    		this.spilled++;
+    	}
+
+        /**
+         * private void addRun(Run run)
+         *
+         * finishes writing the run, reads its first key and adds it to the runs and to its level,
+         * merging the level if it has FAN_IN runs now
+         * complexity: O(1), plus the merge
+         */
+    	private void addRun(Run run) throws IOException
+    	{
+    		flush(run.channel, this.output);
+    		run.channel.position(0);
+    		if (run.remaining == 0)
+    		{
+    			run.channel.close();
+    			return;
+    		}
+    		run.node = this.runs.insert(run.next(), run);
+    		while (this.levels.size() <= run.level)
+    		{
+    			this.levels.add(new ArrayList<>(FAN_IN));
+    		}
+    		List<Run> level = this.levels.get(run.level);
+    		level.add(run);
+    		if (level.size() == FAN_IN)
+    		{
+    			mergeLevel(run.level);
+    		}
+    	}
+
+       /**
+        * private static final class Run
+        *
+        * A sorted run file, read from a block buffer.
+        */
+    	private static final class Run
+    	{
+    		final FileChannel channel;
+    		final int level; //0 for a spilled run, one more than the merged runs for a merged run
+    		final ByteBuffer input = ByteBuffer.allocateDirect(BLOCK).order(ByteOrder.nativeOrder()).limit(0);
+    		long remaining; //num of keys in the file which weren't read
+    		FibonacciHeap<Run>.HeapNode node; //the node of the run in runs, keyed by its head
+
+    		Run(FileChannel channel, int level)
+    		{
+    			this.channel = channel;
+    			this.level = level;
+    		}
+
+    		int next() throws IOException //@pre: remaining > 0
+    		{
+    			if (!this.input.hasRemaining())
+    			{
+    				this.input.clear();
+    				while (this.input.hasRemaining() && this.channel.read(this.input) >= 0) {}
+    				this.input.flip();
+    			}
+    			this.remaining--;
+    			return this.input.getInt();
+    		}
+    	}
+    }
+
+   /**
+    * public static final class BoundedTopK
+    *
+    * Keeps the k minimal keys of a stream (like kMin of a heap holding the whole stream) in O(k) memory.
+    * The keys are kept in a buffer of 2k keys. When it is full, a quickselect moves the k minimal keys
+    * to its front and evicts the rest, and the largest kept key becomes the threshold: from then on
+    * a key which isn't below the threshold is rejected without being stored. Among equal keys at the
+    * k-th place, the quickselect keeps an arbitrary subset, so an offer of such a key which returned true
+    * may be the one evicted (the kept keys are the k minimal either way, only the offers they came from differ).
+    * An eviction of k keys costs O(k), so offer is O(1) amortized.
+    * A heap can't give the maximum cheaply, which the eviction needs, so the buffer isn't a heap.
+    */
+    public static final class BoundedTopK
+    {
+    	private final int k;
+    	private final int[] buffer; //the candidates, buffer[0..count) of which the k minimal are kept
+    	private int count;
+    	private int threshold = Integer.MAX_VALUE; //the keys which are kept are at most threshold
+    	private boolean full; //notes if the threshold was set, so keys from it up are rejected
+    	private int min = Integer.MAX_VALUE; //the minimal key in the buffer
+    	private int max = Integer.MIN_VALUE; //the maximal key in the buffer, while count <= k
+
+       /**
+        * public BoundedTopK(int k)
+        *
+        * creates an empty top-k of the given capacity (at least 1)
+        * complexity: O(k)
+        */
+    	public BoundedTopK(int k)
+    	{
+    		if (k < 1)
+    		{
+    			throw new IllegalArgumentException("k should be positive");
+    		}
+    		this.k = k;
+    		this.buffer = new int[Math.multiplyExact(k, 2)];
+    	}
+
+       /**
+        * public boolean offer(int key)
+        *
+        * Offers a key of the stream. Returns false if it was rejected because k smaller (or equal) keys
+        * are kept, or true if it is kept for now (it may be evicted by smaller keys later).
+        * complexity: O(1) amortized
+        */
+    	public boolean offer(int key)
+    	{
+    		if (this.full && key >= this.threshold)
+    		{
+    			return false;
+    		}
+    		if (this.count == this.buffer.length)
+    		{
+    			compact();
+    			if (key >= this.threshold)
+    			{
+    				return false;
+    			}
+    		}
+    		this.buffer[this.count++] = key;
+    		if (key < this.min)
+    		{
+    			this.min = key;
+    		}
+    		if (this.count <= this.k && key > this.max)
+    		{
+    			this.max = key;
+    		}
+    		return true;
+    	}
+
+       /**
+        * public int findMin()
+        *
+        * Return the minimal key (throws NoSuchElementException if no key was kept).
+        * complexity: O(1)
+        */
+    	public int findMin()
+    	{
+    		if (this.count == 0)
+    		{
+    			throw new NoSuchElementException("no keys were offered");
+    		}
+    		return this.min;
+    	}
+
+       /**
+        * public int findMax()
+        *
+        * Return the maximal key out of the k minimal keys, the next one to be evicted
+        * (throws NoSuchElementException if no key was kept).
+        * complexity: O(1) if no more than k keys are buffered, O(k) otherwise
+        */
+    	public int findMax()
+    	{
+    		if (this.count == 0)
+    		{
+    			throw new NoSuchElementException("no keys were offered");
+    		}
+    		if (this.count > this.k)
+    		{
+    			compact();
+    		}
+    		return this.max;
+    	}
+
+       /**
+        * public int size()
+        *
+        * Return the number of keys which are kept (k once k keys were offered)
+        * complexity: O(1)
+        */
+    	public int size()
+    	{
+    		return Math.min(this.count, this.k);
+    	}
+
+       /**
+        * public int[] sorted()
+        *
+        * Return the kept keys in ascending order
+        * complexity: O(k log k)
+        */
+    	public int[] sorted()
+    	{
+    		if (this.count > this.k)
+    		{
+    			compact();
+    		}
+    		int[] keys = Arrays.copyOf(this.buffer, this.count);
+    		Arrays.sort(keys);
+    		return keys;
+    	}
+
+       /**
+        * public void clear()
+        *
+        * Drops all the keys, keeping the capacity.
+        * complexity: O(1)
+        */
+    	public void clear()
+    	{
+    		this.count = 0;
+    		this.threshold = Integer.MAX_VALUE;
+    		this.full = false;
+    		this.min = Integer.MAX_VALUE;
+    		this.max = Integer.MIN_VALUE;
+    	}
+
+        /**
+         * private void compact()
+         *
+         * @pre: count > k
+         * keeps the k minimal keys of the buffer and makes the largest of them the threshold
+         * complexity: O(count) expected
+         */
+    	private void compact()
+    	{
+    		select(this.buffer, this.count, this.k - 1);
+    		this.count = this.k;
+    		this.threshold = this.buffer[this.k - 1];
+    		this.max = this.threshold;
+    		this.full = true;
+    	}
+
+        /**
+         * private static void select(int[] a, int length, int index)
+         *
+         * reorders a[0..length) so that a[index] holds the key of that place in sorted order,
+         * the keys before it are not larger and the keys after it are not smaller.
+         * A quickselect with a three way partition, so many equal keys stay linear.
+         * complexity: O(length) expected
+         */
+    	private static void select(int[] a, int length, int index)
+    	{
+    		int lo = 0;
+    		int hi = length; //the place of index is in a[lo..hi)
+    		while (hi - lo > 1)
+    		{
+    			int pivot = medianOfThree(a[lo], a[(lo + hi) >>> 1], a[hi - 1]);
+    			int lt = lo; //a[lo..lt) < pivot, a[lt..i) == pivot, a[gt..hi) > pivot
+    			int i = lo;
+    			int gt = hi;
+    			while (i < gt)
+    			{
+    				int key = a[i];
+    				if (key < pivot)
+    				{
+    					a[i++] = a[lt];
+    					a[lt++] = key;
+    				}
+    				else if (key > pivot)
+    				{
+    					a[i] = a[--gt];
+    					a[gt] = key;
+    				}
+    				else
+    				{
+    					i++;
+    				}
+    			}
+    			if (index < lt)
+    			{
+    				hi = lt;
+    			}
+    			else if (index >= gt)
+    			{
+    				lo = gt;
+    			}
+    			else //a[index] is the pivot
+    			{
+    				return;
+    			}
+    		}
+    	}
+
+    	private static int medianOfThree(int a, int b, int c)
+    	{
+    		return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    	}
+    }
+
+   /**
+    * static final class TraceRecorder
+    *
+    * Writes the operations of a heap (see FibonacciHeap.startRecording) to a compact binary trace:
+    * a header of TRACE_MAGIC and TRACE_VERSION (ints), then a record for every operation - an op byte
+    * followed by unsigned LEB128 varints: INSERT key (zigzag encoded), DELETE_MIN id, DELETE id,
+    * DECREASE_KEY id delta - and an END byte. The id of an inserted node isn't written: it is the id
+    * freed last which wasn't given again, or the next new id, so a reader rebuilds it the same way
+    * (TraceReplay). Batch operations are written as their single operations. I/O errors are thrown
+    * as UncheckedIOException.
+    */
+    static final class TraceRecorder
+    {
+    	static final int TRACE_MAGIC = 0x48545243; //"HTRC"
+    	static final int TRACE_VERSION = 1;
+    	static final int END = 0;
+    	static final int INSERT = 1;
+    	static final int DELETE_MIN = 2;
+    	static final int DELETE = 3;
+    	static final int DECREASE_KEY = 4;
+
+    	private final DataOutputStream out;
+    	private final IdentityHashMap<Object, Integer> ids = new IdentityHashMap<>(); //the id of every node in the heap
+    	private int[] free = new int[16]; //the ids of deleted nodes, a stack
+    	private int numOfFree;
+    	private int nextId; //the smallest id which was never given
+
+    	TraceRecorder(OutputStream out)
+    	{
+    		this.out = new DataOutputStream(new BufferedOutputStream(out));
+    		try
+    		{
+    			this.out.writeInt(TRACE_MAGIC);
+    			this.out.writeInt(TRACE_VERSION);
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    	}
+
+    	void inserted(FibonacciHeap<?>.HeapNode node)
+    	{
+    		int id = this.numOfFree > 0 ? this.free[--this.numOfFree] : this.nextId++;
+    		this.ids.put(node, id);
+    		write(INSERT, (node.key << 1) ^ (node.key >> 31)); //zigzag, so small negative keys stay short
+    	}
+
+        /**
+         * void insertedAll(FibonacciHeap<?>.HeapNode first)
+         *
+         * records an insert of every node of the trees in the root list which starts at first (may be null)
+         * complexity: O(nodes)
+         */
+    	void insertedAll(FibonacciHeap<?>.HeapNode first)
+    	{
+    		if (first == null)
+    		{
+    			return;
+    		}
+    		ArrayDeque<FibonacciHeap<?>.HeapNode> lists = new ArrayDeque<>(); //the first nodes of sibling lists to record
+    		lists.push(first);
+    		while (!lists.isEmpty())
+    		{
+    			FibonacciHeap<?>.HeapNode start = lists.pop();
+    			FibonacciHeap<?>.HeapNode x = start;
+    			do
+    			{
+    				inserted(x);
+    				if (x.child != null)
+    				{
+    					lists.push(x.child);
+    				}
+    				x = x.next;
+    			}
+    			while (x != start);
+    		}
+    	}
+
+    	void removed(int op, FibonacciHeap<?>.HeapNode node) //op is DELETE_MIN or DELETE
+    	{
+    		int id = id(node);
+    		this.ids.remove(node);
+    		if (this.numOfFree == this.free.length)
+    		{
+    			this.free = Arrays.copyOf(this.free, this.numOfFree * 2);
+    		}
+    		this.free[this.numOfFree++] = id;
+    		write(op, id);
+    	}
+
+    	void decreased(FibonacciHeap<?>.HeapNode node, int delta)
+    	{
+    		write(DECREASE_KEY, id(node));
+    		writeVarint(delta);
+    	}
+
+    	void close()
+    	{
+    		try
+    		{
+    			this.out.writeByte(END);
+    			this.out.close();
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    	}
+
+    	private int id(FibonacciHeap<?>.HeapNode node)
+    	{
+    		Integer id = this.ids.get(node);
+    		if (id == null)
+    		{
+    			throw new IllegalArgumentException("the node isn't in the recorded heap");
+    		}
+    		return id;
+    	}
+
+    	private void write(int op, int argument)
+    	{
+    		try
+    		{
+    			this.out.writeByte(op);
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    		writeVarint(argument);
+    	}
+
+    	private void writeVarint(int value) //value is read as unsigned
+    	{
+    		try
+    		{
+    			while ((value & ~0x7F) != 0)
+    			{
+    				this.out.writeByte((value & 0x7F) | 0x80);
+    				value = value >>> 7;
+    			}
+    			this.out.writeByte(value);
+    		}
+    		catch (IOException e)
+    		{
+    			throw new UncheckedIOException(e);
+    		}
+    	}
+    }
+
+   /**
+    * public static final class TraceReplay
+    *
+    * A trace written by a recording heap (see TraceRecorder), read into memory to be replayed
+    * against any AddressablePriorityQueue. replay runs the trace twice on new queues of the engine:
+    * once timed as a whole, for the throughput, the peak memory and (for a FibonacciHeap) the links
+    * and cuts, and once with every operation timed, for the latency percentiles.
+    * A deleteMin which removes another node than the recorded one (with the same key) is fine:
+    * the two nodes swap their ids. A deleteMin of a larger key throws IllegalStateException.
+    */
+    public static final class TraceReplay
+    {
+    	private static final String[] OPERATIONS = {"end", "insert", "deleteMin", "delete", "decreaseKey"};
+
+    	private final byte[] ops;
+    	private final int[] ids; //the id of the node of every operation
+    	private final int[] arguments; //the key of an insert, the delta of a decreaseKey
+    	private final int length;
+    	private final int numOfIds; //the num of ids the trace gives
+    	private final int[] counts = new int[OPERATIONS.length]; //num of operations of every op
+
+    	private TraceReplay(byte[] ops, int[] ids, int[] arguments, int length, int numOfIds)
+    	{
+    		this.ops = ops;
+    		this.ids = ids;
+    		this.arguments = arguments;
+    		this.length = length;
+    		this.numOfIds = numOfIds;
+    		for (int i = 0; i < length; i++)
+    		{
+    			this.counts[ops[i]]++;
+    		}
+    	}
+
+       /**
+        * public static TraceReplay read(InputStream in)
+        *
+        * Reads a whole trace, which must be valid, or throws IOException.
+        * complexity: O(operations)
+        */
+    	public static TraceReplay read(InputStream in) throws IOException
+    	{
+    		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    		if (data.readInt() != TraceRecorder.TRACE_MAGIC || data.readInt() != TraceRecorder.TRACE_VERSION)
+    		{
+    			throw new IOException("not a heap trace");
+    		}
+    		byte[] ops = new byte[1024];
+    		int[] ids = new int[1024];
+    		int[] arguments = new int[1024];
+    		boolean[] live = new boolean[1024]; //notes if the node of an id is in the heap
+    		int[] free = new int[16]; //the ids which are free to give again, as TraceRecorder keeps them
+    		int numOfFree = 0;
+    		int numOfIds = 0;
+    		int length = 0;
+    		while (true)
+    		{
+    			int op = data.readUnsignedByte();
+    			if (op == TraceRecorder.END)
+    			{
+    				return new TraceReplay(ops, ids, arguments, length, numOfIds);
+    			}
+    			if (length == ops.length)
+    			{
+    				ops = Arrays.copyOf(ops, length * 2);
+    				ids = Arrays.copyOf(ids, length * 2);
+    				arguments = Arrays.copyOf(arguments, length * 2);
+    			}
+    			int id;
+    			int argument = readVarint(data);
+    			switch (op)
+    			{
+    				case TraceRecorder.INSERT:
+    					id = numOfFree > 0 ? free[--numOfFree] : numOfIds++;
+    					if (id == live.length)
+    					{
+    						live = Arrays.copyOf(live, id * 2);
+    					}
+    					live[id] = true;
+    					argument = (argument >>> 1) ^ -(argument & 1); //zigzag decoding
+    					break;
+    				case TraceRecorder.DELETE_MIN:
+    				case TraceRecorder.DELETE:
+    					id = liveId(argument, live, numOfIds);
+    					live[id] = false;
+    					if (numOfFree == free.length)
+    					{
+    						free = Arrays.copyOf(free, numOfFree * 2);
+    					}
+    					free[numOfFree++] = id;
+    					argument = 0;
+    					break;
+    				case TraceRecorder.DECREASE_KEY:
+    					id = liveId(argument, live, numOfIds);
+    					argument = readVarint(data);
+    					break;
+    				default:
+    					throw new IOException("corrupted trace: unknown operation " + op);
+    			}
+    			ops[length] = (byte) op;
+    			ids[length] = id;
+    			arguments[length] = argument;
+    			length++;
+    		}
+    	}
+
+       /**
+        * public int numOfOperations()
+        *
+        * complexity: O(1)
+        */
+    	public int numOfOperations()
+    	{
+    		return this.length;
+    	}
+
+       /**
+        * public Result replay(Supplier<? extends AddressablePriorityQueue<int[], ?>> engine)
+        *
+        * Replays the trace on new queues made by engine (whose values are the ids of the nodes, boxed in
+        * arrays) and returns the measurements.
+        * complexity: O(the work of the operations)
+        */
+    	public Result replay(Supplier<? extends AddressablePriorityQueue<int[], ?>> engine)
+    	{
+    		AddressablePriorityQueue<int[], ?> heap = engine.get();
+    		boolean fibonacci = heap instanceof FibonacciHeap;
+    		System.gc(); //so the peak is mostly the replay
+    		List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+    		for (MemoryPoolMXBean pool : pools)
+    		{
+    			pool.resetPeakUsage();
+    		}
+    		long linksBefore = FibonacciHeap.links.sum();
+    		long cutsBefore = FibonacciHeap.cuts.sum();
+    		long start = System.nanoTime();
+    		run(heap, null);
+    		long nanos = System.nanoTime() - start;
+    		long links = fibonacci ? FibonacciHeap.links.sum() - linksBefore : -1;
+    		long cuts = fibonacci ? FibonacciHeap.cuts.sum() - cutsBefore : -1;
+    		long peak = 0;
+    		for (MemoryPoolMXBean pool : pools)
+    		{
+    			if (pool.getType() == MemoryType.HEAP)
+    			{
+    				peak += pool.getPeakUsage().getUsed();
+    			}
+    		}
+
+    		long[][] latencies = new long[OPERATIONS.length][];
+    		for (int op = 0; op < OPERATIONS.length; op++)
+    		{
+    			latencies[op] = new long[this.counts[op]];
+    		}
+    		run(engine.get(), latencies);
+    		return new Result(this.length, nanos, links, cuts, peak, latencies);
+    	}
+
+        /**
+         * private <H> void run(AddressablePriorityQueue<int[], H> heap, long[][] latencies)
+         *
+         * replays the trace on heap, and if latencies isn't null, times every operation into latencies[op]
+         */
+    	@SuppressWarnings("unchecked")
+    	private <H> void run(AddressablePriorityQueue<int[], H> heap, long[][] latencies)
+    	{
+    		H[] handles = (H[]) new Object[this.numOfIds]; //the handle of every id in the heap
+    		int[] next = new int[OPERATIONS.length]; //the next place in latencies[op]
+    		for (int i = 0; i < this.length; i++)
+    		{
+    			long start = latencies == null ? 0 : System.nanoTime();
+    			int id = this.ids[i];
+    			switch (this.ops[i])
+    			{
+    				case TraceRecorder.INSERT:
+    					handles[id] = heap.insert(this.arguments[i], new int[] {id});
+    					break;
+    				case TraceRecorder.DELETE_MIN:
+    					H min = heap.findMin();
+    					int[] deleted = heap.value(min);
+    					if (deleted[0] != id) //a node with the same key is the minimum, it takes the id
+    					{
+    						H recorded = handles[id];
+    						if (heap.key(recorded) != heap.key(min))
+    						{
+    							throw new IllegalStateException("deleteMin removed key " + heap.key(min)
+    									+ " instead of " + heap.key(recorded));
+    						}
+    						heap.value(recorded)[0] = deleted[0];
+    						handles[deleted[0]] = recorded;
+    					}
+    					heap.deleteMin();
+    					handles[id] = null;
+    					break;
+    				case TraceRecorder.DELETE:
+    					heap.delete(handles[id]);
+    					handles[id] = null;
+    					break;
+    				default: //DECREASE_KEY
+    					heap.decreaseKey(handles[id], this.arguments[i]);
+    					break;
+    			}
+    			if (latencies != null)
+    			{
+    				latencies[this.ops[i]][next[this.ops[i]]++] = System.nanoTime() - start;
+    			}
+    		}
+    	}
+
+    	private static int liveId(int id, boolean[] live, int numOfIds) throws IOException
+    	{
+    		if (id < 0 || id >= numOfIds || !live[id])
+    		{
+    			throw new IOException("corrupted trace: node " + (id & 0xFFFFFFFFL) + " isn't in the heap");
+    		}
+    		return id;
+    	}
+
+    	private static int readVarint(DataInputStream in) throws IOException
+    	{
+    		int value = 0;
+    		for (int shift = 0; shift < 35; shift += 7)
+    		{
+    			int b = in.readUnsignedByte();
+    			value |= (b & 0x7F) << shift;
+    			if ((b & 0x80) == 0)
+    			{
+    				return value;
+    			}
+    		}
+    		throw new IOException("corrupted trace: a varint is too long");
+    	}
+
+       /**
+        * public static final class Result
+        *
+        * The measurements of a replay.
+        */
+    	public static final class Result
+    	{
+    		private final int operations;
+    		private final long nanos;
+    		private final long links;
+    		private final long cuts;
+    		private final long peakBytes;
+    		private final long[][] latencies;
+
+    		private Result(int operations, long nanos, long links, long cuts, long peakBytes, long[][] latencies)
+    		{
+    			this.operations = operations;
+    			this.nanos = nanos;
+    			this.links = links;
+    			this.cuts = cuts;
+    			this.peakBytes = peakBytes;
+    			this.latencies = latencies;
+    		}
+
+    		public int getOperations()
+    		{
+    			return this.operations;
+    		}
+
+    		public double getThroughput() //operations per second
+    		{
+    			return this.nanos == 0 ? 0 : this.operations * 1e9 / this.nanos;
+    		}
+
+    		public long getNanos()
+    		{
+    			return this.nanos;
+    		}
+
+    		public long getLinks() //-1 if the engine isn't a FibonacciHeap
+    		{
+    			return this.links;
+    		}
+
+    		public long getCuts() //-1 if the engine isn't a FibonacciHeap
+    		{
+    			return this.cuts;
+    		}
+
+    		public long getPeakBytes() //the peak java heap use during the replay
+    		{
+    			return this.peakBytes;
+    		}
+
+    		public Map<String, long[]> getLatencies() //the latency of every operation in nanoseconds, by operation
+    		{
+    			Map<String, long[]> latencies = new LinkedHashMap<>();
+    			for (int op = TraceRecorder.INSERT; op < OPERATIONS.length; op++)
+    			{
+    				latencies.put(OPERATIONS[op], this.latencies[op].clone());
+    			}
+    			return latencies;
+    		}
+    	}
+    }
+
+   /**
+    * public static final class MergedFibonacciQueue
+    *
+    * A view of N fibonacci heaps (partitions) as a single queue in global ascending order, without melding
+    * them. A winner tree (tournament tree) over the partitions keeps the partition with the minimal
+    * findMin() at its root: every internal node holds the better of its two children, so the global
+    * minimum is read in O(1) and a change of one partition replays only its path, O(log N).
+    * The partitions stay separate heaps: insert, decreaseKey and delete of the view work on one partition
+    * and update its path. A partition may also be changed directly (by its own producer), after which
+    * refresh(partition) must be called before the view is used again.
+    */
+    public static final class MergedFibonacciQueue<V>
+    {
+    	private static final int NONE = -1; //a leaf with no partition
+
+    	private final FibonacciHeap<V>[] partitions;
+    	private final int leaves; //num of leaves, the smallest power of 2 which is at least N
+    	private final int[] tree; //tree[1] is the root, tree[i] is the partition which wins at node i, leaves at tree[leaves..]
+
+       /**
+        * public MergedFibonacciQueue(List<FibonacciHeap<V>> partitions)
+        *
+        * creates a view of the given (at least one) partitions, in their current state
+        * complexity: O(N)
+        */
+    	@SuppressWarnings("unchecked")
+    	public MergedFibonacciQueue(List<FibonacciHeap<V>> partitions)
+    	{
+    		if (partitions.isEmpty())
+    		{
+    			throw new IllegalArgumentException("there should be at least one partition");
+    		}
+    		this.partitions = partitions.toArray((FibonacciHeap<V>[]) new FibonacciHeap<?>[0]);
+    		int leaves = 1;
+    		while (leaves < this.partitions.length)
+    		{
+    			leaves = leaves * 2;
+    		}
+    		this.leaves = leaves;
+    		this.tree = new int[2 * leaves];
+    		Arrays.fill(this.tree, NONE);
+    		for (int p = 0; p < this.partitions.length; p++)
+    		{
+    			this.tree[leaves + p] = p;
+    		}
+    		refreshAll();
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode findMin()
+        *
+        * Return the node with the minimal key over all the partitions, or null if they are all empty.
+        * complexity: O(1)
+        */
+    	public FibonacciHeap<V>.HeapNode findMin()
+    	{
+    		return this.partitions[this.tree[1]].findMin();
+    	}
+
+       /**
+        * public int partitionOfMin()
+        *
+        * Return the partition which holds the minimal key (the first such partition if there is a tie).
+        * complexity: O(1)
+        */
+    	public int partitionOfMin()
+    	{
+    		return this.tree[1];
+    	}
+
+       /**
+        * public void deleteMin()
+        *
+        * Deletes the node with the minimal key over all the partitions (does nothing if they are all empty).
+        * complexity: O(log n + log N) amortized
+        */
+    	public void deleteMin()
+    	{
+    		int p = this.tree[1];
+    		if (!this.partitions[p].isEmpty())
+    		{
+    			this.partitions[p].deleteMin();
+    			refresh(p);
+    		}
+    	}
+
+       /**
+        * public FibonacciHeap<V>.HeapNode insert(int partition, int key, V value)
+        *
+        * Inserts a node with the given key and value into the given partition and returns it.
+        * complexity: O(log N)
+        */
+    	public FibonacciHeap<V>.HeapNode insert(int partition, int key, V value)
+    	{
+    		FibonacciHeap<V>.HeapNode node = this.partitions[partition].insert(key, value);
+    		refresh(partition);
+    		return node;
+    	}
+
+       /**
+        * public void decreaseKey(int partition, FibonacciHeap<V>.HeapNode x, int delta)
+        *
+        * Decreases the key of the node x, which is in the given partition, by delta.
+        * complexity: O(log N) amortized
+        */
+    	public void decreaseKey(int partition, FibonacciHeap<V>.HeapNode x, int delta)
+    	{
+    		this.partitions[partition].decreaseKey(x, delta);
+    		refresh(partition);
+    	}
+
+       /**
+        * public void delete(int partition, FibonacciHeap<V>.HeapNode x)
+        *
+        * Deletes the node x, which is in the given partition.
+        * complexity: O(log n + log N) amortized
+        */
+    	public void delete(int partition, FibonacciHeap<V>.HeapNode x)
+    	{
+    		this.partitions[partition].delete(x);
+    		refresh(partition);
+    	}
+
+       /**
+        * public void refresh(int partition)
+        *
+        * Updates the view after the minimum of the partition was changed directly on its heap.
+        * complexity: O(log N)
+        */
+    	public void refresh(int partition)
+    	{
+    		Objects.checkIndex(partition, this.partitions.length);
+    		for (int i = (this.leaves + partition) >>> 1; i >= 1; i = i >>> 1)
+    		{
+    			this.tree[i] = winner(this.tree[2 * i], this.tree[2 * i + 1]);
+    		}
+    	}
+
+       /**
+        * public void refreshAll()
+        *
+        * Updates the view after any of the partitions were changed directly.
+        * complexity: O(N)
+        */
+    	public void refreshAll()
+    	{
+    		for (int i = this.leaves - 1; i >= 1; i--)
+    		{
+    			this.tree[i] = winner(this.tree[2 * i], this.tree[2 * i + 1]);
+    		}
+    	}
+
+       /**
+        * public FibonacciHeap<V> partition(int partition)
+        *
+        * Return the heap of the partition (call refresh after changing it directly).
+        * complexity: O(1)
+        */
+    	public FibonacciHeap<V> partition(int partition)
+    	{
+    		return this.partitions[partition];
+    	}
+
+       /**
+        * public int numOfPartitions()
+        *
+        * complexity: O(1)
+        */
+    	public int numOfPartitions()
+    	{
+    		return this.partitions.length;
+    	}
+
+       /**
+        * public boolean isEmpty()
+        *
+        * The method returns true if and only if all the partitions are empty.
+        * complexity: O(1)
+        */
+    	public boolean isEmpty()
+    	{
+    		return this.partitions[this.tree[1]].isEmpty();
+    	}
+
+       /**
+        * public long size()
+        *
+        * Return the number of nodes in all the partitions
+        * complexity: O(N)
+        */
+    	public long size()
+    	{
+    		long size = 0;
+    		for (FibonacciHeap<V> partition : this.partitions)
+    		{
+    			size += partition.size();
+    		}
+    		return size;
+    	}
+
+        /**
+         * private int winner(int a, int b)
+         *
+         * returns the partition with the smaller minimum out of a and b (a on a tie),
+         * where an empty partition and NONE always lose
+         * complexity: O(1)
+         */
+    	private int winner(int a, int b)
+    	{
+    		if (b == NONE)
+    		{
+    			return a;
+    		}
+    		if (a == NONE)
+    		{
+    			return b;
+    		}
+    		FibonacciHeap<V>.HeapNode x = this.partitions[a].findMin();
+    		FibonacciHeap<V>.HeapNode y = this.partitions[b].findMin();
+    		if (y == null)
+    		{
+    			return a;
+    		}
+    		return x == null || y.key < x.key ? b : a;
+    	}
+    }
+
+   /**
+    * public static final class Graph
+    *
+    * A weighted directed graph in compressed sparse row form: the edges leaving vertex v are
+    * targets[offsets[v]], ..., targets[offsets[v+1]-1], with the matching weights.
+    * An undirected graph is kept as a pair of opposite edges for every edge.
+    */
+    public static final class Graph
+    {
+    	//the arrays are package private, GraphBenchmark and QueriesBenchmark walk the edges of the graphs they generate
+    	final int[] offsets; //offsets[v] is the index of the first edge of v, offsets[V] is the num of edges
+    	final int[] targets; //the target vertex of each edge
+    	final int[] weights; //the weight of each edge
+    	private final boolean negativeWeights; //notes if some edge has a negative weight
+
+    	private Graph(int[] offsets, int[] targets, int[] weights)
+    	{
+    		this.offsets = offsets;
+    		this.targets = targets;
+    		this.weights = weights;
+    		boolean negative = false;
+    		for (int weight : weights)
+    		{
+    			negative |= weight < 0;
+    		}
+    		this.negativeWeights = negative;
+    	}
+
+       /**
+        * public static Graph fromEdges(int vertices, int[] sources, int[] targets, int[] weights, boolean undirected)
+        *
+        * Builds a graph with the given vertices (0, ..., vertices-1) and the edges
+        * sources[i] -> targets[i] of weight weights[i]. If undirected, every edge is added in both directions.
+        * complexity: O(vertices + edges)
+        */
+    	public static Graph fromEdges(int vertices, int[] sources, int[] targets, int[] weights, boolean undirected)
+    	{
+    		int m = sources.length;
+    		if (targets.length != m || weights.length != m)
+    		{
+    			throw new IllegalArgumentException("sources, targets and weights should have the same length");
+    		}
+    		int edges = undirected ? Math.multiplyExact(m, 2) : m;
+    		int[] offsets = new int[vertices + 1];
+    		for (int i = 0; i < m; i++) //count the edges of every vertex
+    		{
+    			Objects.checkIndex(sources[i], vertices);
+    			Objects.checkIndex(targets[i], vertices);
+    			offsets[sources[i] + 1]++;
+    			if (undirected)
+    			{
+    				offsets[targets[i] + 1]++;
+    			}
+    		}
+    		for (int v = 0; v < vertices; v++)
+    		{
+    			offsets[v + 1] += offsets[v];
+    		}
+    		int[] next = Arrays.copyOf(offsets, vertices); //the next free place of every vertex
+    		int[] csrTargets = new int[edges];
+    		int[] csrWeights = new int[edges];
+    		for (int i = 0; i < m; i++)
+    		{
+    			int e = next[sources[i]]++;
+    			csrTargets[e] = targets[i];
+    			csrWeights[e] = weights[i];
+    			if (undirected)
+    			{
+    				e = next[targets[i]]++;
+    				csrTargets[e] = sources[i];
+    				csrWeights[e] = weights[i];
+    			}
+    		}
+    		return new Graph(offsets, csrTargets, csrWeights);
+    	}
+
+       /**
+        * public static Graph random(int vertices, int degree, int maxWeight, boolean undirected, long seed)
+        *
+        * Builds a random graph where every vertex has degree edges to random vertices,
+        * with random weights in [0, maxWeight]. Vertex v also has an edge to v+1, so all the vertices
+        * are reachable from 0.
+        * complexity: O(vertices * degree)
+        */
+    	public static Graph random(int vertices, int degree, int maxWeight, boolean undirected, long seed)
+    	{
+    		Random random = new Random(seed);
+    		int m = Math.multiplyExact(vertices, degree + 1) - 1;
+    		int[] sources = new int[m];
+    		int[] targets = new int[m];
+    		int[] weights = new int[m];
+    		int e = 0;
+    		for (int v = 0; v < vertices; v++)
+    		{
+    			if (v + 1 < vertices)
+    			{
+    				sources[e] = v;
+    				targets[e] = v + 1;
+    				weights[e++] = random.nextInt(maxWeight + 1);
+    			}
+    			for (int d = 0; d < degree; d++)
+    			{
+    				sources[e] = v;
+    				targets[e] = random.nextInt(vertices);
+    				weights[e++] = random.nextInt(maxWeight + 1);
+    			}
+    		}
+    		return fromEdges(vertices, sources, targets, weights, undirected);
+    	}
+
+    	public int numOfVertices()
+    	{
+    		return this.offsets.length - 1;
+    	}
+
+    	public int numOfEdges()
+    	{
+    		return this.targets.length;
+    	}
+    }
+
+   /**
+    * public static final class GraphSearch
+    *
+    * Dijkstra's shortest paths and Prim's minimum spanning tree over a Graph, driven by an
+    * AddressablePriorityQueue (a pooled FibonacciHeap by default) with one node per vertex in the heap.
+    * A GraphSearch keeps its heap, its per-vertex node table and its result arrays, and reuses them
+    * for every query, so it should be created once per graph and used by one thread at a time.
+    * The tables are reset lazily: every query starts a new epoch, and the entries of a vertex are
+    * only valid if the vertex was stamped with the current epoch, so a query which touches few
+    * vertices (see dijkstra(source, target)) costs nothing for the others.
+    */
+    public static final class GraphSearch
+    {
+    	public static final int UNREACHABLE = Integer.MAX_VALUE; //the distance of a vertex with no path
+    	public static final int NO_PARENT = -1;
+
+    	private final Graph graph;
+    	private final AddressablePriorityQueue<Integer, Object> heap; //empty between queries
+    	private final Object[] nodes; //the handle of each vertex which is in the heap
+    	private final Integer[] ids; //the vertex numbers, used as the values of the nodes
+    	private final int[] distance; //the distance (Dijkstra) or tree edge weight (Prim) of each vertex
+    	private final int[] parent; //the previous vertex on the path, or the parent in the tree
+    	private final boolean[] done; //notes if the vertex was deleted from the heap
+    	private final int[] stamp; //the epoch in which the entries of each vertex were set
+    	private int epoch; //the epoch of the current query, the entries with other stamps are stale
+
+       /**
+        * public GraphSearch(Graph graph)
+        *
+        * complexity: O(vertices)
+        */
+    	public GraphSearch(Graph graph)
+    	{
+    		this(graph, new FibonacciHeap<>(true));
+    	}
+
+       /**
+        * public GraphSearch(Graph graph, AddressablePriorityQueue<Integer, ?> heap)
+        *
+        * Creates a search which uses the given empty heap (for example a PairingHeap).
+        * complexity: O(vertices)
+        */
+    	@SuppressWarnings("unchecked")
+    	public GraphSearch(Graph graph, AddressablePriorityQueue<Integer, ?> heap)
+    	{
+    		if (!heap.isEmpty())
+    		{
+    			throw new IllegalArgumentException("the heap should be empty");
+    		}
+    		int vertices = graph.numOfVertices();
+    		this.graph = graph;
+    		this.heap = (AddressablePriorityQueue<Integer, Object>) heap; //the handles only go back to heap
+    		this.nodes = new Object[vertices];
+    		this.ids = new Integer[vertices];
+    		for (int v = 0; v < vertices; v++)
+    		{
+    			this.ids[v] = v;
+    		}
+    		this.distance = new int[vertices];
+    		this.parent = new int[vertices];
+    		this.done = new boolean[vertices];
+    		this.stamp = new int[vertices];
+    	}
+
+       /**
+        * public void dijkstra(int source)
+        *
+        * Computes the shortest paths from source to all the vertices, which are then read with
+        * distance(v) and parent(v). The edge weights must not be negative.
+        * A distance that would not fit in an int is treated as UNREACHABLE.
+        * complexity: O(E + V log V)
+        */
+    	public void dijkstra(int source)
+    	{
+    		Objects.checkIndex(source, this.nodes.length);
+    		search(source, NO_PARENT);
+    	}
+
+       /**
+        * public void dijkstra(int source, int target)
+        *
+        * Computes the shortest path from source to target, which is then read with distance(target)
+        * and parent(v) from target back to source. The search stops as soon as the distance of target
+        * is final, so the distances of the other vertices may only be upper bounds.
+        * complexity: O(E' + V' log V'), where V' is the num of vertices closer to source than target,
+        * and E' the num of their edges
+        */
+    	public void dijkstra(int source, int target)
+    	{
+    		Objects.checkIndex(source, this.nodes.length);
+    		Objects.checkIndex(target, this.nodes.length);
+    		search(source, target);
+    	}
+
+        /**
+         * private void search(int source, int target)
+         *
+         * runs dijkstra from source until the heap is empty or target (if not NO_PARENT) is deleted from it
+         * complexity: O(E + V log V)
+         */
+    	private void search(int source, int target)
+    	{
+    		if (this.graph.negativeWeights)
+    		{
+    			throw new IllegalStateException("dijkstra needs non-negative edge weights");
+    		}
+    		reset();
+    		touch(source);
+    		this.distance[source] = 0;
+    		this.nodes[source] = this.heap.insert(0, this.ids[source]);
+
+    		int[] offsets = this.graph.offsets;
+    		int[] targets = this.graph.targets;
+    		int[] weights = this.graph.weights;
+    		while (!this.heap.isEmpty())
+    		{
+    			Object min = this.heap.findMin();
+    			int v = this.heap.value(min);
+    			int d = this.heap.key(min);
+    			this.heap.deleteMin(); //a pooled heap reuses min, so it is read before
+    			this.nodes[v] = null;
+    			this.done[v] = true;
+    			if (v == target) //the other nodes are dropped by the next reset
+    			{
+    				return;
+    			}
+    			for (int e = offsets[v]; e < offsets[v + 1]; e++)
+    			{
+    				int w = targets[e];
+    				touch(w);
+    				long candidate = (long) d + weights[e];
+    				if (!this.done[w] && candidate < this.distance[w]) //a shorter path to w through v
+    				{
+    					relax(w, (int) candidate, v);
+    				}
+    			}
+    		}
+    	}
+
+       /**
+        * public long prim()
+        *
+        * Computes a minimum spanning forest of the graph (which should be undirected), whose
+        * edges are read with parent(v) and distance(v) (the weight of the edge to the parent).
+        * Returns the total weight of the forest.
+        * complexity: O(E + V log V)
+        */
+    	public long prim()
+    	{
+    		reset();
+    		int[] offsets = this.graph.offsets;
+    		int[] targets = this.graph.targets;
+    		int[] weights = this.graph.weights;
+    		long total = 0;
+    		for (int root = 0; root < this.nodes.length; root++) //one tree for every connected component
+    		{
+    			touch(root);
+    			if (this.done[root])
+    			{
+    				continue;
+    			}
+    			this.distance[root] = 0;
+    			this.nodes[root] = this.heap.insert(Integer.MIN_VALUE, this.ids[root]);
+    			while (!this.heap.isEmpty())
+    			{
+    				int v = this.heap.value(this.heap.findMin());
+    				this.heap.deleteMin();
+    				this.nodes[v] = null;
+    				this.done[v] = true;
+    				total += this.distance[v];
+    				for (int e = offsets[v]; e < offsets[v + 1]; e++)
+    				{
+    					int w = targets[e];
+    					touch(w);
+    					if (!this.done[w] && (this.nodes[w] == null || weights[e] < this.distance[w]))
+    					{
+    						relax(w, weights[e], v);
+    					}
+    				}
+    			}
+    		}
+    		return total;
+    	}
+
+       /**
+        * public int distance(int v)
+        *
+        * Returns the distance of v from the source of the last dijkstra (UNREACHABLE if there is no path),
+        * or the weight of the edge from v to its parent after prim.
+        * complexity: O(1)
+        */
+    	public int distance(int v)
+    	{
+    		return this.stamp[v] == this.epoch ? this.distance[v] : UNREACHABLE;
+    	}
+
+       /**
+        * public int parent(int v)
+        *
+        * Returns the vertex before v on its shortest path, or its parent in the spanning forest
+        * (NO_PARENT for the source, for roots and for unreachable vertices).
+        * complexity: O(1)
+        */
+    	public int parent(int v)
+    	{
+    		return this.stamp[v] == this.epoch ? this.parent[v] : NO_PARENT;
+    	}
+
+        /**
+         * private void relax(int w, int key, int v)
+         *
+         * gives w the smaller key through v, inserting w into the heap or decreasing its key.
+         * The delta is computed in long, since prim's keys are edge weights of any sign; if it doesn't
+         * fit in an int, w is deleted and inserted again with its new key.
+         * complexity: O(1) amortized, O(log n) amortized for a delta that doesn't fit in an int
+         */
+    	private void relax(int w, int key, int v)
+    	{
+    		Object node = this.nodes[w];
+    		if (node == null)
+    		{
+    			this.nodes[w] = this.heap.insert(key, this.ids[w]);
+    		}
+    		else
+    		{
+    			long delta = (long) this.heap.key(node) - key;
+    			if (delta <= Integer.MAX_VALUE)
+    			{
+    				this.heap.decreaseKey(node, (int) delta);
+    			}
+    			else
+    			{
+    				this.heap.delete(node);
+    				this.nodes[w] = this.heap.insert(key, this.ids[w]);
+    			}
+    		}
+    		this.distance[w] = key;
+    		this.parent[w] = v;
+    	}
+
+        /**
+         * private void touch(int v)
+         *
+         * resets the entries of v if they were set in an earlier epoch
+         * complexity: O(1)
+         */
+    	private void touch(int v)
+    	{
+    		if (this.stamp[v] != this.epoch)
+    		{
+    			this.stamp[v] = this.epoch;
+    			this.nodes[v] = null;
+    			this.distance[v] = UNREACHABLE;
+    			this.parent[v] = NO_PARENT;
+    			this.done[v] = false;
+    		}
+    	}
+
+        /**
+         * private void reset()
+         *
+         * prepares the heap and the tables for a new query by starting a new epoch
+         * complexity: O(1) for a FibonacciHeap or a PairingHeap (O(V) once every 2^32 queries, when the epoch wraps around)
+         */
+    	private void reset()
+    	{
+    		this.heap.clear(); //only non-empty after dijkstra to a target, or a query that failed in the middle
+    		this.epoch++;
+    		if (this.epoch == 0) //the stamps of old epochs could match again
+    		{
+    			Arrays.fill(this.stamp, 0);
+    			this.epoch = 1;
+    		}
+    	}
+    }
+
+   /**
+    * public interface HeapMetricsMXBean
+    *
+    * The management interface of HeapMetrics, for JMX clients.
+    */
+    public interface HeapMetricsMXBean
+    {
+    	long getLinks();
+    	long getCuts();
+    	long getCascadingCuts();
+    	long getMaxCascadeDepth();
+    	long getConsolidations();
+    	double getMeanRootListLength();
+    	long getMaxRootListLength();
+    	long getDeleteMins();
+    	long[] getDeleteMinLatencyHistogram();
+    	int getSize();
+    	int getPotential();
+    	int getMaxPotential();
+    }
+
+   /**
+    * public static final class HeapMetrics
+    *
+    * The metrics of a single heap, returned by FibonacciHeap.enableMetrics().
+    * The counters may be read from any thread while the heap works. Every deleteMin is also
+    * emitted as a JFR event (FibonacciHeap.DeleteMin) when a recording enables it, and
+    * register(name) exposes the metrics as a JMX MXBean.
+    */
+    public static final class HeapMetrics implements HeapMetricsMXBean
+    {
+    	private static final int LATENCY_BUCKETS = 40; //bucket i counts latencies in [2^i, 2^(i+1)) nanoseconds
+
+    	private final FibonacciHeap<?> heap;
+    	private final String label; //names the heap in the JFR events
+    	final LongAdder links = new LongAdder();
+    	final LongAdder cuts = new LongAdder();
+    	private final LongAdder cascadingCuts = new LongAdder();
+    	private final LongAccumulator maxCascadeDepth = new LongAccumulator(Math::max, 0);
+    	private final LongAdder consolidations = new LongAdder();
+    	private final LongAdder rootsConsolidated = new LongAdder();
+    	private final LongAccumulator maxRootListLength = new LongAccumulator(Math::max, 0);
+    	private final LongAdder deleteMins = new LongAdder();
+    	private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+    	private volatile int maxPotential;
+    	private int lastRoots; //the root list length of the last consolidate, for the event
+    	private ObjectName objectName; //the name this is registered with, or null
+
+    	private HeapMetrics(FibonacciHeap<?> heap)
+    	{
+    		this.heap = heap;
+    		this.label = "FibonacciHeap@" + Integer.toHexString(System.identityHashCode(heap));
+    		for (int i = 0; i < LATENCY_BUCKETS; i++)
+    		{
+    			this.latency[i] = new LongAdder();
+    		}
+    	}
+
+        /**
+         * void cascaded(int depth)
+         *
+         * records a cascading cuts pass which cut depth marked ancestors
+         * complexity: O(1)
+         */
+    	void cascaded(int depth)
+    	{
+    		if (depth > 0)
+    		{
+    			this.cascadingCuts.add(depth);
+    			this.maxCascadeDepth.accumulate(depth);
+    		}
+    	}
+
+        /**
+         * void consolidated(int roots)
+         *
+         * records a consolidation of a root list of the given length
+         * complexity: O(1)
+         */
+    	void consolidated(int roots)
+    	{
+    		this.consolidations.increment();
+    		this.rootsConsolidated.add(roots);
+    		this.maxRootListLength.accumulate(roots);
+    		this.lastRoots = roots;
+    	}
+
+        /**
+         * void deleteMinDone(long start)
+         *
+         * records a deleteMin which started at the given System.nanoTime(), and emits its JFR event
+         * complexity: O(1)
+         */
+    	void deleteMinDone(long start)
+    	{
+    		long nanos = System.nanoTime() - start;
+    		this.deleteMins.increment();
+    		int bucket = 63 - Long.numberOfLeadingZeros(Math.max(1, nanos));
+    		this.latency[Math.min(bucket, LATENCY_BUCKETS - 1)].increment();
+    		int potential = this.heap.potential();
+    		if (potential > this.maxPotential)
+    		{
+    			this.maxPotential = potential;
+    		}
+
+    		DeleteMinEvent event = new DeleteMinEvent();
+    		if (event.isEnabled())
+    		{
+    			event.heap = this.label;
+    			event.latency = nanos;
+    			event.rootsConsolidated = this.lastRoots;
+    			event.size = this.heap.size();
+    			event.potential = potential;
+    			event.commit();
+    		}
+    		this.lastRoots = 0;
+    	}
+
+       /**
+        * public synchronized ObjectName register(String name)
+        *
+        * Registers these metrics in the platform MBean server as
+        * FibonacciHeap:type=HeapMetrics,name=<name> and returns the object name.
+        */
+    	public synchronized ObjectName register(String name) throws JMException
+    	{
+    		if (this.objectName != null)
+    		{
+    			throw new IllegalStateException("already registered as " + this.objectName);
+    		}
+    		ObjectName objectName = new ObjectName("FibonacciHeap:type=HeapMetrics,name=" + ObjectName.quote(name));
+    		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+    		this.objectName = objectName;
+    		return objectName;
+    	}
+
+       /**
+        * public synchronized void unregister()
+        *
+        * Removes these metrics from the platform MBean server, if they were registered.
+        */
+    	public synchronized void unregister() throws JMException
+    	{
+    		if (this.objectName != null)
+    		{
+    			ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+    			this.objectName = null;
+    		}
+    	}
+
+    	@Override
+    	public long getLinks()
+    	{
+    		return this.links.sum();
+    	}
+
+    	@Override
+    	public long getCuts() //including the cuts of cascading cuts
+    	{
+    		return this.cuts.sum();
+    	}
+
+    	@Override
+    	public long getCascadingCuts() //cuts of marked ancestors only
+    	{
+    		return this.cascadingCuts.sum();
+    	}
+
+    	@Override
+    	public long getMaxCascadeDepth()
+    	{
+    		return this.maxCascadeDepth.get();
+    	}
+
+    	@Override
+    	public long getConsolidations()
+    	{
+    		return this.consolidations.sum();
+    	}
+
+    	@Override
+    	public double getMeanRootListLength() //the mean length of a consolidated root list
+    	{
+    		long consolidations = this.consolidations.sum();
+    		return consolidations == 0 ? 0 : (double) this.rootsConsolidated.sum() / consolidations;
+    	}
+
+    	@Override
+    	public long getMaxRootListLength()
+    	{
+    		return this.maxRootListLength.get();
+    	}
+
+    	@Override
+    	public long getDeleteMins()
+    	{
+    		return this.deleteMins.sum();
+    	}
+
+    	@Override
+    	public long[] getDeleteMinLatencyHistogram() //entry i counts latencies in [2^i, 2^(i+1)) nanoseconds
+    	{
+    		long[] histogram = new long[LATENCY_BUCKETS];
+    		for (int i = 0; i < LATENCY_BUCKETS; i++)
+    		{
+    			histogram[i] = this.latency[i].sum();
+    		}
+    		return histogram;
+    	}
+
+    	@Override
+    	public int getSize() //read without synchronization, may be stale
+    	{
+    		return this.heap.size();
+    	}
+
+    	@Override
+    	public int getPotential() //read without synchronization, may be stale
+    	{
+    		return this.heap.potential();
+    	}
+
+    	@Override
+    	public int getMaxPotential() //the highest potential seen after a deleteMin
+    	{
+    		return this.maxPotential;
+    	}
+    }
+
+   /**
+    * static final class DeleteMinEvent
+    *
+    * The JFR event of a deleteMin of a heap whose metrics are enabled.
+    */
+    @Name("FibonacciHeap.DeleteMin")
+    @Label("Fibonacci Heap deleteMin")
+    @Category("Fibonacci Heap")
+    @StackTrace(false)
+    static final class DeleteMinEvent extends Event
+    {
+    	@Label("Heap")
+    	String heap;
+
+    	@Label("Latency")
+    	@Timespan(Timespan.NANOSECONDS)
+    	long latency;
+
+    	@Label("Roots Consolidated")
+    	int rootsConsolidated;
+
+    	@Label("Size")
+    	int size;
+
+    	@Label("Potential")
+    	int potential;
+    }
+}
@@ -0,0 +1,147 @@
+package fibonacciheap;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+
+/**
+ * OffHeapFibonacciHeap
+ *
+ * A HandleFibonacciHeap that keeps its nodes outside of the java heap, as fixed width records
+ * in chunks of native memory, so the nodes are never traced by the garbage collector.
+ * The links between nodes are record numbers (handles). The chunks are memory segments allocated
+ * from one shared Arena as the heap grows, and are never copied. close() closes the arena, which
+ * frees all the chunks at once. A closed heap is empty, and insert, decreaseKey, delete and getKey
+ * throw IllegalStateException.
+ * It uses the foreign memory API, a preview API of Java 21, so it is compiled on its own and needs
+ * --enable-preview at run time (the other classes of the package don't).
+ */
+public final class OffHeapFibonacciHeap extends FibonacciHeap.HandleFibonacciHeap implements AutoCloseable
+{
+	//the layout of a record:
+	private static final long KEY = 0;
+	private static final long RANK = 4; //the rank in the low bits, and the mark bit
+	private static final long PARENT = 8;
+	private static final long CHILD = 12;
+	private static final long NEXT = 16;
+	private static final long PREV = 20;
+	private static final long RECORD_SIZE = 24;
+	private static final int MARK_BIT = 1 << 30;
+
+	private static final int CHUNK_SHIFT = 16; //num of records in a chunk is 2^CHUNK_SHIFT
+	private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+	private static final int MAX_CHUNKS = Integer.MAX_VALUE >>> CHUNK_SHIFT; //so every handle is a non-negative int
+
+	private final Arena arena = Arena.ofShared(); //owns the chunks, closed by close()
+	private MemorySegment[] chunks = new MemorySegment[4];
+	private int numOfChunks;
+
+	public OffHeapFibonacciHeap()
+	{
+		grow();
+	}
+
+	@Override
+	protected int capacity()
+	{
+		checkOpen();
+		return this.numOfChunks << CHUNK_SHIFT; //at most MAX_CHUNKS << CHUNK_SHIFT, which doesn't overflow
+	}
+
+    /**
+     * protected void grow()
+     *
+     * allocates one more chunk of native memory
+     * complexity: O(1) amortized
+     */
+	@Override
+	protected void grow()
+	{
+		checkOpen();
+		if (this.numOfChunks == MAX_CHUNKS)
+		{
+			throw new OutOfMemoryError("an OffHeapFibonacciHeap can't hold more than " + capacity() + " nodes");
+		}
+		if (this.numOfChunks == this.chunks.length)
+		{
+			this.chunks = Arrays.copyOf(this.chunks, this.chunks.length * 2);
+		}
+		this.chunks[this.numOfChunks++] = this.arena.allocate(RECORD_SIZE << CHUNK_SHIFT, Long.BYTES);
+	}
+
+   /**
+    * public boolean isOpen()
+    *
+    * The method returns true if and only if the heap wasn't closed.
+    * complexity: O(1)
+    */
+	public boolean isOpen()
+	{
+		return this.arena.scope().isAlive();
+	}
+
+   /**
+    * public void close()
+    *
+    * Frees the native memory of all the nodes now, by closing the arena of the chunks. The heap
+    * becomes empty, and a later operation on a node throws IllegalStateException.
+    * Closing a closed heap does nothing.
+    * complexity: O(1)
+    */
+	@Override
+	public void close()
+	{
+		if (!isOpen())
+		{
+			return;
+		}
+		reset();
+		this.arena.close(); //an access to a chunk fails from now on
+	}
+
+    /**
+     * private void checkOpen()
+     *
+     * throws IllegalStateException if the heap was closed (the accesses to the chunks check it themselves)
+     * complexity: O(1)
+     */
+	private void checkOpen()
+	{
+		if (!isOpen())
+		{
+			throw new IllegalStateException("the heap is closed");
+		}
+	}
+
+	private int get(int x, long field)
+	{
+		return this.chunks[x >>> CHUNK_SHIFT].get(ValueLayout.JAVA_INT, (x & CHUNK_MASK) * RECORD_SIZE + field);
+	}
+
+	private void set(int x, long field, int value)
+	{
+		this.chunks[x >>> CHUNK_SHIFT].set(ValueLayout.JAVA_INT, (x & CHUNK_MASK) * RECORD_SIZE + field, value);
+	}
+
+	@Override protected int key(int x) { return get(x, KEY); }
+	@Override protected void setKey(int x, int key) { set(x, KEY, key); }
+	@Override protected int rank(int x) { return get(x, RANK) & ~MARK_BIT; }
+	@Override protected void setRank(int x, int rank) { set(x, RANK, (get(x, RANK) & MARK_BIT) | rank); }
+	@Override protected boolean isMarked(int x) { return (get(x, RANK) & MARK_BIT) != 0; }
+	@Override protected int parent(int x) { return get(x, PARENT); }
+	@Override protected void setParent(int x, int parent) { set(x, PARENT, parent); }
+	@Override protected int child(int x) { return get(x, CHILD); }
+	@Override protected void setChild(int x, int child) { set(x, CHILD, child); }
+	@Override protected int next(int x) { return get(x, NEXT); }
+	@Override protected void setNext(int x, int next) { set(x, NEXT, next); }
+	@Override protected int prev(int x) { return get(x, PREV); }
+	@Override protected void setPrev(int x, int prev) { set(x, PREV, prev); }
+
+	@Override
+	protected void setMark(int x, boolean mark)
+	{
+		int rank = get(x, RANK);
+		set(x, RANK, mark ? (rank | MARK_BIT) : (rank & ~MARK_BIT));
+	}
+}
@@ -0,0 +1,67 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * AddressablePriorityQueueTest
+ *
+ * The contract of AddressablePriorityQueue, checked on every engine.
+ */
+class AddressablePriorityQueueTest
+{
+	@Test
+	void meldWithItselfKeepsTheNodes()
+	{
+		checkMeldWithItself(FibonacciHeap::new);
+		checkMeldWithItself(FibonacciHeap.PairingHeap::new);
+	}
+
+	@Test
+	void meldMovesTheNodes()
+	{
+		checkMeld(FibonacciHeap::new);
+		checkMeld(FibonacciHeap.PairingHeap::new);
+	}
+
+	private static <H> void checkMeldWithItself(Supplier<AddressablePriorityQueue<Void, H>> engine)
+	{
+		AddressablePriorityQueue<Void, H> queue = engine.get();
+		for (int key = 10; key > 0; key--)
+		{
+			queue.insert(key);
+		}
+		queue.deleteMin(); //the fibonacci heap has trees, not only a root list
+		queue.meld(queue);
+		assertEquals(9, queue.size());
+		for (int key = 2; key <= 10; key++)
+		{
+			assertEquals(key, queue.key(queue.findMin()));
+			queue.deleteMin();
+		}
+		assertTrue(queue.isEmpty());
+	}
+
+	private static <H> void checkMeld(Supplier<AddressablePriorityQueue<Void, H>> engine)
+	{
+		AddressablePriorityQueue<Void, H> queue = engine.get();
+		AddressablePriorityQueue<Void, H> other = engine.get();
+		for (int key = 0; key < 10; key++)
+		{
+			(key % 2 == 0 ? queue : other).insert(key);
+		}
+		queue.meld(other);
+		assertEquals(10, queue.size());
+		assertTrue(other.isEmpty());
+		other.insert(-1); //other can be used again
+		assertEquals(-1, other.key(other.findMin()));
+		for (int key = 0; key < 10; key++)
+		{
+			assertEquals(key, queue.key(queue.findMin()));
+			queue.deleteMin();
+		}
+	}
+}
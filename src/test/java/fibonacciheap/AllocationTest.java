@@ -0,0 +1,120 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * AllocationTest
+ *
+ * A pooled FibonacciHeap (with eager consolidation and with a consolidation budget) and an
+ * ArrayFibonacciHeap don't allocate at a steady size: after WARMUP rounds of SIZE steps (a deleteMin,
+ * an insert and a decreaseKey of a random node), the bytes the thread allocates during one more round,
+ * by ThreadMXBean.getThreadAllocatedBytes, must be 0. Neither does a pooled heap which is filled and
+ * cleared over and over.
+ */
+class AllocationTest
+{
+	private static final int SIZE = 100_000;
+	private static final int WARMUP = 20; //num of rounds before the check, so the JIT settles
+
+	private final Random random = new Random(SIZE);
+	private final int[] keys = random.ints(SIZE, 0, 1 << 30).toArray();
+	private final int[] picks = random.ints(SIZE, 0, SIZE).toArray(); //the nodes decreaseKey works on
+	private final int[] deltas = random.ints(SIZE, 1, 1025).toArray();
+	private int sink;
+
+	@Test
+	void pooledHeapDoesNotAllocate()
+	{
+		assertNoAllocation(pooledRound(new FibonacciHeap<>(true)));
+	}
+
+	@Test
+	void budgetedPooledHeapDoesNotAllocate()
+	{
+		FibonacciHeap<Integer> heap = new FibonacciHeap<>(true);
+		heap.setConsolidationBudget(16);
+		assertNoAllocation(pooledRound(heap));
+	}
+
+	@Test
+	void clearedPooledHeapDoesNotAllocate()
+	{
+		FibonacciHeap<Void> heap = new FibonacciHeap<>(true);
+		assertNoAllocation(() -> { //the inserts reuse the nodes of the trees the last clear left
+			for (int i = 0; i < SIZE; i++)
+			{
+				heap.insert(this.keys[i]);
+				if (i % 3 == 0)
+				{
+					heap.deleteMin();
+				}
+			}
+			this.sink = heap.findMin().getKey();
+			heap.clear();
+		});
+	}
+
+	@Test
+	void arrayHeapDoesNotAllocate()
+	{
+		FibonacciHeap.ArrayFibonacciHeap heap = new FibonacciHeap.ArrayFibonacciHeap(SIZE);
+		for (int key : this.keys)
+		{
+			heap.insert(key);
+		}
+		assertNoAllocation(() -> { //the handles are the slots 0..SIZE-1, deleteMin frees one for insert
+			for (int i = 0; i < SIZE; i++)
+			{
+				heap.deleteMin();
+				heap.insert(this.keys[i]);
+				heap.decreaseKey(this.picks[i], Math.min(this.deltas[i], heap.getKey(this.picks[i]))); //the keys stay >= 0
+			}
+			this.sink = heap.getKey(heap.findMin());
+		});
+	}
+
+	private Runnable pooledRound(FibonacciHeap<Integer> heap)
+	{
+		Integer[] slots = new Integer[SIZE]; //the value of a node is its index in nodes, boxed once
+		@SuppressWarnings("unchecked")
+		FibonacciHeap<Integer>.HeapNode[] nodes = (FibonacciHeap<Integer>.HeapNode[]) new FibonacciHeap<?>.HeapNode[SIZE];
+		for (int i = 0; i < SIZE; i++)
+		{
+			slots[i] = i;
+			nodes[i] = heap.insert(this.keys[i], slots[i]);
+		}
+		return () -> {
+			for (int i = 0; i < SIZE; i++)
+			{
+				int slot = heap.findMin().getValue();
+				heap.deleteMin();
+				nodes[slot] = heap.insert(this.keys[i], slots[slot]); //most likely the node deleteMin just freed
+				FibonacciHeap<Integer>.HeapNode node = nodes[this.picks[i]];
+				heap.decreaseKey(node, Math.min(this.deltas[i], node.getKey())); //the keys stay >= 0
+			}
+			this.sink = heap.findMin().getKey();
+		};
+	}
+
+	private void assertNoAllocation(Runnable round)
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "this JVM doesn't measure the bytes a thread allocates");
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threads.isThreadAllocatedMemoryEnabled(), "thread allocation accounting is disabled");
+		long thread = Thread.currentThread().threadId();
+		for (int run = 0; run < WARMUP; run++)
+		{
+			round.run();
+		}
+		long before = threads.getThreadAllocatedBytes(thread);
+		round.run();
+		long bytes = threads.getThreadAllocatedBytes(thread) - before;
+		assertEquals(0, bytes, "bytes allocated in " + 3L * SIZE + " operations");
+	}
+}
@@ -0,0 +1,133 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ClearTest
+ *
+ * FibonacciHeap.clear() starts a new generation of the epoch of the heap: the deleted nodes are
+ * rejected by decreaseKey and delete, also after melds, and a pooled heap reuses them lazily.
+ */
+class ClearTest
+{
+	@Test
+	void clearedNodesAreRejected()
+	{
+		for (boolean pooled : new boolean[] {false, true})
+		{
+			FibonacciHeap<Void> heap = new FibonacciHeap<>(pooled);
+			List<FibonacciHeap<Void>.HeapNode> nodes = new ArrayList<>();
+			for (int key = 0; key < 100; key++)
+			{
+				nodes.add(heap.insert(key + 1000));
+			}
+			heap.deleteMin(); //the nodes are in trees
+			heap.clear();
+			assertTrue(heap.isEmpty());
+			FibonacciHeap<Void>.HeapNode stale = nodes.get(50);
+			assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(stale, 1));
+			assertThrows(IllegalArgumentException.class, () -> heap.delete(stale));
+			FibonacciHeap<Void>.HeapNode node = heap.insert(7);
+			heap.decreaseKey(node, 2);
+			assertEquals(5, heap.findMin().getKey());
+		}
+	}
+
+	@Test
+	void nodesOfOtherHeapsAreRejected()
+	{
+		FibonacciHeap<Void> heap = new FibonacciHeap<>();
+		FibonacciHeap<Void> other = new FibonacciHeap<>();
+		heap.insert(1);
+		FibonacciHeap<Void>.HeapNode foreign = other.insert(2);
+		assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(foreign, 1));
+	}
+
+	@Test
+	void meldedNodesFollowTheirHeap()
+	{
+		FibonacciHeap<Void> heap = new FibonacciHeap<>(true);
+		FibonacciHeap<Void> other = new FibonacciHeap<>(); //not pooled, so cleared isn't reused by the next insert
+		FibonacciHeap<Void>.HeapNode cleared = other.insert(100);
+		other.clear();
+		FibonacciHeap<Void>.HeapNode melded = other.insert(50);
+		FibonacciHeap<Void> third = new FibonacciHeap<>();
+		FibonacciHeap<Void>.HeapNode twice = third.insert(60);
+		other.meld(third);
+		heap.insert(10);
+		heap.clear();
+		heap.insert(20);
+		heap.meld(other);
+		heap.decreaseKey(melded, 45); //melded into the current generation of heap
+		heap.decreaseKey(twice, 54);
+		assertEquals(5, heap.findMin().getKey());
+		assertThrows(IllegalArgumentException.class, () -> heap.delete(cleared));
+		FibonacciHeap<Void>.HeapNode reused = other.insert(30); //other has a new epoch
+		other.decreaseKey(reused, 1);
+		assertThrows(IllegalArgumentException.class, () -> other.decreaseKey(melded, 1));
+		heap.clear();
+		assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(melded, 1));
+		assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(twice, 1));
+	}
+
+	@Test
+	void pooledHeapReusesTheClearedNodes()
+	{
+		Random random = new Random(25);
+		FibonacciHeap<Integer> heap = new FibonacciHeap<>(true);
+		Map<FibonacciHeap<Integer>.HeapNode, Boolean> old = new IdentityHashMap<>(); //every node created so far
+		for (int round = 0; round < 20; round++)
+		{
+			PriorityQueue<Integer> expected = new PriorityQueue<>();
+			List<FibonacciHeap<Integer>.HeapNode> nodes = new ArrayList<>();
+			int size = 1 + random.nextInt(2000);
+			for (int i = 0; i < size; i++)
+			{
+				int key = random.nextInt(1 << 20);
+				FibonacciHeap<Integer>.HeapNode node = heap.insert(key, i);
+				assertEquals(null, node.getParent());
+				assertEquals(0, node.getRank());
+				nodes.add(node);
+				expected.add(key);
+			}
+			if (size <= old.size()) //the pool and the cleared trees hold every node created before
+			{
+				nodes.forEach(node -> assertTrue(old.containsKey(node), "a new node while cleared nodes were left"));
+			}
+			nodes.forEach(node -> old.put(node, true));
+			for (int i = 0; i < size / 3; i++)
+			{
+				assertEquals(expected.poll(), heap.findMin().getKey());
+				nodes.remove(heap.findMin());
+				heap.deleteMin();
+			}
+			Collections.shuffle(nodes, random);
+			for (FibonacciHeap<Integer>.HeapNode node : nodes.subList(0, nodes.size() / 2))
+			{
+				expected.remove(node.getKey());
+				heap.decreaseKey(node, random.nextInt(1000));
+				expected.add(node.getKey());
+			}
+			for (int i = 0; i < size / 3 && !expected.isEmpty(); i++)
+			{
+				assertEquals(expected.poll(), heap.findMin().getKey());
+				heap.deleteMin();
+			}
+			heap.clear();
+			assertTrue(heap.isEmpty());
+			assertSame(null, heap.findMin());
+		}
+	}
+}
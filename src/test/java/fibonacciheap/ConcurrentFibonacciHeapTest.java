@@ -0,0 +1,305 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * ConcurrentFibonacciHeapTest
+ *
+ * ConcurrentFibonacciHeap under contention: producer threads insert nodes (one by one or melded in
+ * small heaps) and decrease their keys, while consumer threads deleteMin until the producers are done
+ * and the heap is empty. Every event is stamped from one clock, and the extracted minima are checked
+ * against the history: every node is extracted exactly once, with its last key, and no deleteMin
+ * returned a key (or null) larger than a key acknowledged before it started, of a node whose deleteMin
+ * started after it returned.
+ */
+class ConcurrentFibonacciHeapTest
+{
+	private static final int NODES = 100_000;
+	private static final int PRODUCERS = 4;
+	private static final int CONSUMERS = 2;
+
+	@Test
+	@Timeout(120)
+	void extractedMinimaMatchTheHistory() throws InterruptedException
+	{
+		int idBits = 32 - Integer.numberOfLeadingZeros(NODES - 1);
+		int idMask = (1 << idBits) - 1;
+		int bases = 1 << (30 - idBits); //a key is (base << idBits | id), so no two nodes have the same key
+		FibonacciHeap.ConcurrentFibonacciHeap<Integer> heap = new FibonacciHeap.ConcurrentFibonacciHeap<>(PRODUCERS);
+		AtomicLong clock = new AtomicLong();
+		AtomicBoolean done = new AtomicBoolean(); //set when every producer returned
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		//decreaseKey and deleteMin both take the lock of the main heap, so this adds no serialization,
+		//it only keeps a producer from decreasing the key of a node a consumer has just extracted:
+		ReentrantLock guard = new ReentrantLock();
+		boolean[] extracted = new boolean[NODES]; //guarded by guard
+		Log[] acks = new Log[PRODUCERS];
+		Log[] takes = new Log[CONSUMERS];
+		Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+
+		for (int t = 0; t < PRODUCERS; t++)
+		{
+			int producer = t;
+			int from = (int) ((long) t * NODES / PRODUCERS); //the ids of the nodes of the thread
+			int to = (int) ((long) (t + 1) * NODES / PRODUCERS);
+			Log log = acks[t] = new Log();
+			threads[t] = new Thread(() -> {
+				Random random = new Random(producer);
+				List<FibonacciHeap<Integer>.HeapNode> handles = new ArrayList<>(to - from);
+				int[] keys = new int[8];
+				int id = from;
+				while (id < to)
+				{
+					if (random.nextInt(16) == 0)
+					{
+						Thread.yield(); //switch threads often, also when there are fewer cores than threads
+					}
+					int op = random.nextInt(8);
+					if (op == 0 && !handles.isEmpty()) //decrease the key of a node of the thread
+					{
+						int i = random.nextInt(handles.size());
+						FibonacciHeap<Integer>.HeapNode node = handles.get(i);
+						guard.lock();
+						try
+						{
+							int base = node.getKey() >>> idBits;
+							if (!extracted[from + i] && base > 0)
+							{
+								heap.decreaseKey(node, (1 + random.nextInt(base)) << idBits);
+								log.add(clock.getAndIncrement(), node.getKey(), from + i);
+							}
+						}
+						finally
+						{
+							guard.unlock();
+						}
+					}
+					else if (op == 1) //meld a heap of a few nodes
+					{
+						FibonacciHeap<Integer> small = new FibonacciHeap<>();
+						int count = Math.min(1 + random.nextInt(keys.length), to - id);
+						for (int k = 0; k < count; k++)
+						{
+							keys[k] = random.nextInt(bases) << idBits | (id + k);
+							handles.add(small.insert(keys[k], id + k));
+						}
+						heap.meld(small);
+						long ack = clock.getAndIncrement();
+						for (int k = 0; k < count; k++)
+						{
+							log.add(ack, keys[k], id + k);
+						}
+						id = id + count;
+					}
+					else
+					{
+						int key = random.nextInt(bases) << idBits | id;
+						handles.add(heap.insert(key, id));
+						log.add(clock.getAndIncrement(), key, id);
+						id++;
+					}
+				}
+			});
+		}
+		for (int c = 0; c < CONSUMERS; c++)
+		{
+			Log log = takes[c] = new Log();
+			threads[PRODUCERS + c] = new Thread(() -> {
+				boolean drained = false;
+				while (!drained)
+				{
+					boolean last = done.get(); //once the producers are done, an empty heap stays empty
+					FibonacciHeap<Integer>.HeapNode node;
+					guard.lock();
+					try
+					{
+						long begin = clock.getAndIncrement();
+						node = heap.deleteMin();
+						if (node != null)
+						{
+							log.add(begin, clock.getAndIncrement(), node.getKey(), node.getValue());
+							extracted[node.getValue()] = true;
+						}
+						else
+						{
+							log.add(begin, clock.getAndIncrement(), Integer.MAX_VALUE, -1); //found the heap empty
+						}
+					}
+					finally
+					{
+						guard.unlock();
+					}
+					if (node == null || (node.getKey() & 3) == 0)
+					{
+						drained = node == null && last;
+						Thread.yield();
+					}
+				}
+			});
+		}
+		for (Thread thread : threads)
+		{
+			thread.setUncaughtExceptionHandler((source, e) -> failure.compareAndSet(null, e));
+			thread.start();
+		}
+		for (int t = 0; t < PRODUCERS; t++)
+		{
+			threads[t].join();
+		}
+		done.set(true);
+		for (int c = 0; c < CONSUMERS; c++)
+		{
+			threads[PRODUCERS + c].join();
+		}
+		assertNull(failure.get(), () -> "a thread failed: " + failure.get());
+		assertTrue(heap.isEmpty());
+
+		Log taken = Log.sorted(takes); //the deleteMins (with id -1 if empty) in the order they started
+		Log acked = Log.sorted(acks);
+		int[] lastKey = new int[NODES];
+		Arrays.fill(lastKey, Integer.MAX_VALUE);
+		for (int a = 0; a < acked.size; a++) //the keys only decrease
+		{
+			lastKey[acked.ids[a]] = Math.min(lastKey[acked.ids[a]], acked.keys[a]);
+		}
+		int[] rank = new int[NODES]; //the index of the deleteMin of every node in taken
+		Arrays.fill(rank, -1);
+		for (int r = 0; r < taken.size; r++)
+		{
+			int id = taken.ids[r];
+			if (id == -1)
+			{
+				continue;
+			}
+			assertEquals(id, taken.keys[r] & idMask);
+			assertEquals(-1, rank[id], "node " + id + " was extracted twice");
+			assertEquals(lastKey[id], taken.keys[r], "node " + id + " was extracted with a stale key");
+			rank[id] = r;
+		}
+		for (int id = 0; id < NODES; id++)
+		{
+			assertTrue(rank[id] != -1, "node " + id + " was lost");
+		}
+
+		int leaves = Integer.highestOneBit(Math.max(1, taken.size - 1)) * 2; //a min segment tree over the ranks
+		int[] tree = new int[2 * leaves];
+		Arrays.fill(tree, Integer.MAX_VALUE);
+		int a = 0;
+		for (int r = 0; r < taken.size; r++)
+		{
+			for (; a < acked.size && acked.starts[a] < taken.starts[r]; a++) //acknowledged before r started
+			{
+				int i = leaves + rank[acked.ids[a]];
+				for (tree[i] = Math.min(tree[i], acked.keys[a]); i > 1; i = i / 2)
+				{
+					tree[i / 2] = Math.min(tree[i], tree[i ^ 1]);
+				}
+			}
+			int lo = r + 1; //the first deleteMin which started after r returned
+			int hi = taken.size;
+			while (lo < hi)
+			{
+				int mid = (lo + hi) >>> 1;
+				if (taken.starts[mid] > taken.ends[r])
+				{
+					hi = mid;
+				}
+				else
+				{
+					lo = mid + 1;
+				}
+			}
+			int smallest = Integer.MAX_VALUE; //the min of the leaves lo..taken.size
+			for (int i = lo + leaves, j = taken.size + leaves; i < j; i = i / 2, j = j / 2)
+			{
+				if ((i & 1) == 1)
+				{
+					smallest = Math.min(smallest, tree[i++]);
+				}
+				if ((j & 1) == 1)
+				{
+					smallest = Math.min(smallest, tree[--j]);
+				}
+			}
+			if (smallest < taken.keys[r])
+			{
+				fail("deleteMin returned " + (taken.ids[r] == -1 ? "null" : taken.keys[r])
+						+ " while " + smallest + " was in the heap");
+			}
+		}
+	}
+
+   /**
+    * private static final class Log
+    *
+    * The events of one thread: when each started and ended, and the key and id of its node.
+    */
+	private static final class Log
+	{
+		long[] starts = new long[1024];
+		long[] ends = new long[1024];
+		int[] keys = new int[1024];
+		int[] ids = new int[1024];
+		int size;
+
+		void add(long time, int key, int id)
+		{
+			add(time, time, key, id);
+		}
+
+		void add(long start, long end, int key, int id)
+		{
+			if (this.size == this.starts.length)
+			{
+				this.starts = Arrays.copyOf(this.starts, this.size * 2);
+				this.ends = Arrays.copyOf(this.ends, this.size * 2);
+				this.keys = Arrays.copyOf(this.keys, this.size * 2);
+				this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			}
+			this.starts[this.size] = start;
+			this.ends[this.size] = end;
+			this.keys[this.size] = key;
+			this.ids[this.size] = id;
+			this.size++;
+		}
+
+		static Log sorted(Log[] logs) //the events of all the logs by their start
+		{
+			Log all = new Log();
+			for (Log log : logs)
+			{
+				for (int i = 0; i < log.size; i++)
+				{
+					all.add(log.starts[i], log.ends[i], log.keys[i], log.ids[i]);
+				}
+			}
+			long[] order = new long[all.size]; //(start * size + index), the clock never repeats a start
+			for (int i = 0; i < all.size; i++)
+			{
+				order[i] = all.starts[i] * all.size + i;
+			}
+			Arrays.sort(order);
+			Log sorted = new Log();
+			for (long packed : order)
+			{
+				int i = (int) (packed % all.size);
+				sorted.add(all.starts[i], all.ends[i], all.keys[i], all.ids[i]);
+			}
+			return sorted;
+		}
+	}
+}
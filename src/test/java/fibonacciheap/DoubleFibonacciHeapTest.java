@@ -0,0 +1,33 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * DoubleFibonacciHeapTest
+ *
+ * DoubleFibonacciHeap never lets a NaN key into the heap, where it would compare as neither
+ * smaller nor larger than any other key.
+ */
+class DoubleFibonacciHeapTest
+{
+	@Test
+	void rejectsNaNKeys()
+	{
+		FibonacciHeap.DoubleFibonacciHeap<Void> heap = new FibonacciHeap.DoubleFibonacciHeap<>();
+		int infinite = heap.insert(Double.POSITIVE_INFINITY, null);
+		heap.insert(1.0, null);
+		assertThrows(IllegalArgumentException.class, () -> heap.insert(Double.NaN, null));
+		assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(infinite, Double.NaN));
+		assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(infinite, Double.POSITIVE_INFINITY));
+		assertEquals(Double.POSITIVE_INFINITY, heap.getKey(infinite)); //left as it was
+		assertEquals(2, heap.size());
+
+		heap.decreaseKey(infinite, 1.0); //+Infinity - 1 is still +Infinity
+		assertEquals(Double.POSITIVE_INFINITY, heap.getKey(infinite));
+		heap.deleteMin();
+		assertEquals(infinite, heap.findMin());
+	}
+}
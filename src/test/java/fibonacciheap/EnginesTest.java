@@ -0,0 +1,118 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * EnginesTest
+ *
+ * The same random sequence of inserts, deleteMins, decreaseKeys and deletes on FibonacciHeap and on
+ * every handle heap (ArrayFibonacciHeap, OffHeapFibonacciHeap, LongFibonacciHeap, DoubleFibonacciHeap).
+ * No two nodes have the same key, so after every operation they must agree on the size and the minimum.
+ * The handle heaps share AbstractHandleFibonacciHeap, so they must also agree on the potential
+ * (FibonacciHeap orders its root list differently, so its trees may differ from theirs).
+ */
+class EnginesTest
+{
+	private static final int OPERATIONS = 200_000;
+	private static final int ID_BITS = 18; //a key is (base << ID_BITS | id), so no two nodes have the same key
+
+	@Test
+	void enginesAgreeOnEveryStep()
+	{
+		Random random = new Random(4);
+		FibonacciHeap<Integer> heap = new FibonacciHeap<>();
+		FibonacciHeap.ArrayFibonacciHeap array = new FibonacciHeap.ArrayFibonacciHeap();
+		FibonacciHeap.LongFibonacciHeap<Integer> longs = new FibonacciHeap.LongFibonacciHeap<>();
+		FibonacciHeap.DoubleFibonacciHeap<Integer> doubles = new FibonacciHeap.DoubleFibonacciHeap<>();
+		try (OffHeapFibonacciHeap offHeap = new OffHeapFibonacciHeap())
+		{
+			@SuppressWarnings("unchecked")
+			FibonacciHeap<Integer>.HeapNode[] nodes = (FibonacciHeap<Integer>.HeapNode[]) new FibonacciHeap<?>.HeapNode[OPERATIONS];
+			int[][] handles = new int[4][OPERATIONS]; //the handles of every id in array, offHeap, longs and doubles
+			int[] live = new int[OPERATIONS]; //the ids in the heaps, unordered
+			int[] position = new int[OPERATIONS]; //the index of every live id in live
+			int size = 0;
+			for (int id = 0, op = 0; op < OPERATIONS; op++)
+			{
+				int choice = random.nextInt(10);
+				if (choice < 4 || size == 0)
+				{
+					int key = random.nextInt(1 << 10) << ID_BITS | id;
+					nodes[id] = heap.insert(key, id);
+					handles[0][id] = array.insert(key);
+					handles[1][id] = offHeap.insert(key);
+					handles[2][id] = longs.insert(key, id);
+					handles[3][id] = doubles.insert(key, id);
+					position[id] = size;
+					live[size++] = id;
+					id++;
+				}
+				else if (choice < 7)
+				{
+					int min = heap.findMin().getValue();
+					assertEquals(min, longs.getValue(longs.findMin()));
+					assertEquals(min, doubles.getValue(doubles.findMin()));
+					heap.deleteMin();
+					array.deleteMin();
+					offHeap.deleteMin();
+					longs.deleteMin();
+					doubles.deleteMin();
+					size = remove(live, position, size, min);
+				}
+				else
+				{
+					int target = live[random.nextInt(size)];
+					if (choice < 9)
+					{
+						int delta = random.nextInt((nodes[target].getKey() >>> ID_BITS) + 1) << ID_BITS;
+						heap.decreaseKey(nodes[target], delta);
+						array.decreaseKey(handles[0][target], delta);
+						offHeap.decreaseKey(handles[1][target], delta);
+						longs.decreaseKey(handles[2][target], delta);
+						doubles.decreaseKey(handles[3][target], delta);
+					}
+					else
+					{
+						heap.delete(nodes[target]);
+						array.delete(handles[0][target]);
+						offHeap.delete(handles[1][target]);
+						longs.delete(handles[2][target]);
+						doubles.delete(handles[3][target]);
+						size = remove(live, position, size, target);
+					}
+				}
+				assertEquals(size, heap.size());
+				assertEquals(size, array.size());
+				assertEquals(size, offHeap.size());
+				assertEquals(size, longs.size());
+				assertEquals(size, doubles.size());
+				if (size > 0)
+				{
+					int min = heap.findMin().getKey();
+					assertEquals(min, array.getKey(array.findMin()));
+					assertEquals(min, offHeap.getKey(offHeap.findMin()));
+					assertEquals(min, longs.getKey(longs.findMin()));
+					assertEquals(min, doubles.getKey(doubles.findMin()));
+				}
+				int potential = array.potential();
+				assertEquals(potential, offHeap.potential());
+				assertEquals(potential, longs.potential());
+				assertEquals(potential, doubles.potential());
+			}
+		}
+	}
+
+	/**
+	 * removes id from live and returns the new size
+	 */
+	private static int remove(int[] live, int[] position, int size, int id)
+	{
+		int last = live[size - 1];
+		live[position[id]] = last;
+		position[last] = position[id];
+		return size - 1;
+	}
+}
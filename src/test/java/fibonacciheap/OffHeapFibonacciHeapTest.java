@@ -0,0 +1,66 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * OffHeapFibonacciHeapTest
+ *
+ * OffHeapFibonacciHeap keeps the keys in order across several chunks, and fails with
+ * IllegalStateException, not a crash, once close() freed its memory.
+ */
+class OffHeapFibonacciHeapTest
+{
+	private static final int SIZE = 200_000; //more than 3 chunks of 2^16 records
+
+	@Test
+	void extractsTheKeysInOrder()
+	{
+		Random random = new Random(2);
+		int[] keys = random.ints(SIZE, 0, 1 << 30).toArray();
+		try (OffHeapFibonacciHeap heap = new OffHeapFibonacciHeap())
+		{
+			int[] handles = new int[SIZE];
+			for (int i = 0; i < SIZE; i++)
+			{
+				handles[i] = heap.insert(keys[i]);
+			}
+			for (int i = 0; i < SIZE; i += 7)
+			{
+				int delta = random.nextInt(1000);
+				keys[i] = keys[i] - delta;
+				heap.decreaseKey(handles[i], delta);
+			}
+			Arrays.sort(keys);
+			for (int key : keys)
+			{
+				assertEquals(key, heap.getKey(heap.findMin()));
+				heap.deleteMin();
+			}
+			assertTrue(heap.isEmpty());
+		}
+	}
+
+	@Test
+	void closedHeapThrows()
+	{
+		OffHeapFibonacciHeap heap = new OffHeapFibonacciHeap();
+		int handle = heap.insert(5);
+		heap.insert(7);
+		assertTrue(heap.isOpen());
+		heap.close();
+		assertFalse(heap.isOpen());
+		assertTrue(heap.isEmpty());
+		assertThrows(IllegalStateException.class, () -> heap.insert(1));
+		assertThrows(IllegalStateException.class, () -> heap.decreaseKey(handle, 1));
+		assertThrows(IllegalStateException.class, () -> heap.getKey(handle));
+		heap.close(); //does nothing
+		assertFalse(heap.isOpen());
+	}
+}
@@ -0,0 +1,135 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SnapshotTest
+ *
+ * FibonacciHeap.writeTo and mapFrom: heaps shaped by every operation survive a round trip,
+ * and crafted snapshots which would break consolidate are rejected.
+ */
+class SnapshotTest
+{
+	private static final int MAGIC = 0x48424946;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void roundTripKeepsTheKeys() throws IOException
+	{
+		Random random = new Random(14);
+		for (int budget : new int[] {0, 4})
+		{
+			for (int round = 0; round < 20; round++)
+			{
+				FibonacciHeap<Void> heap = new FibonacciHeap<>();
+				heap.setConsolidationBudget(budget);
+				PriorityQueue<Integer> expected = new PriorityQueue<>();
+				List<FibonacciHeap<Void>.HeapNode> nodes = new ArrayList<>();
+				for (int op = 0; op < 2000; op++)
+				{
+					int choice = random.nextInt(10);
+					if (choice < 5 || nodes.isEmpty())
+					{
+						int key = random.nextInt(1 << 20);
+						nodes.add(heap.insert(key));
+						expected.add(key);
+					}
+					else if (choice < 7)
+					{
+						expected.remove(heap.findMin().getKey());
+						nodes.remove(heap.findMin());
+						heap.deleteMin();
+					}
+					else
+					{
+						FibonacciHeap<Void>.HeapNode node = nodes.get(random.nextInt(nodes.size()));
+						expected.remove(node.getKey());
+						if (choice < 9)
+						{
+							heap.decreaseKey(node, random.nextInt(1000));
+							expected.add(node.getKey());
+						}
+						else
+						{
+							nodes.remove(node);
+							heap.delete(node);
+						}
+					}
+				}
+				Path path = this.dir.resolve("heap" + budget + "-" + round);
+				try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+				{
+					heap.writeTo(channel);
+				}
+				FibonacciHeap<Void> restored = FibonacciHeap.mapFrom(path);
+				assertEquals(heap.size(), restored.size());
+				assertEquals(heap.potential(), restored.potential());
+				while (!expected.isEmpty())
+				{
+					assertEquals(expected.poll(), restored.findMin().getKey());
+					restored.deleteMin();
+				}
+				assertTrue(restored.isEmpty());
+			}
+		}
+	}
+
+	@Test
+	void rejectsRanksBeyondMaxRank() throws IOException
+	{
+		//a root of rank 127 and 127 leaves
+		int[] ranks = new int[128];
+		ranks[0] = 127;
+		assertThrows(IOException.class, () -> FibonacciHeap.mapFrom(snapshot(ranks, 1)));
+	}
+
+	@Test
+	void rejectsMoreSonsThanNodes() throws IOException
+	{
+		assertThrows(IOException.class, () -> FibonacciHeap.mapFrom(snapshot(new int[] {3, 0}, 1)));
+	}
+
+	@Test
+	void rejectsTreesTooWideForTheirSize() throws IOException
+	{
+		//two roots of rank 45 with leaves only: linking them would make a tree of rank 46
+		int[] ranks = new int[92];
+		ranks[0] = 45;
+		ranks[46] = 45;
+		assertThrows(IOException.class, () -> FibonacciHeap.mapFrom(snapshot(ranks, 2)));
+	}
+
+	/**
+	 * writes a snapshot of unmarked nodes with the given ranks in pre-order and increasing keys
+	 */
+	private Path snapshot(int[] ranks, int numOfTrees) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(24 + 5 * ranks.length).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC).putInt(1).putInt(ranks.length).putInt(numOfTrees).putInt(0).putInt(0);
+		for (int i = 0; i < ranks.length; i++)
+		{
+			buffer.putInt(i).put((byte) ranks[i]);
+		}
+		Path path = Files.createTempFile(this.dir, "crafted", ".heap");
+		Files.write(path, buffer.array());
+		return path;
+	}
+}
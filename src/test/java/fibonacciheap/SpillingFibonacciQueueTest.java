@@ -0,0 +1,87 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SpillingFibonacciQueueTest
+ *
+ * FibonacciHeap.SpillingFibonacciQueue drains its keys in order through spills and merges of runs,
+ * treats an empty queue the same in findMin and deleteMin, and loses no key when a spill fails.
+ */
+class SpillingFibonacciQueueTest
+{
+	@TempDir
+	Path dir;
+
+	@Test
+	void drainsInOrderThroughRuns()
+	{
+		int[] keys = new Random(20).ints(50_000, 0, 1 << 20).toArray();
+		try (FibonacciHeap.SpillingFibonacciQueue queue = new FibonacciHeap.SpillingFibonacciQueue(64, this.dir))
+		{
+			for (int key : keys)
+			{
+				queue.insert(key);
+			}
+			assertTrue(queue.numOfRuns() > 0);
+			Arrays.sort(keys);
+			for (int key : keys)
+			{
+				assertEquals(key, queue.findMin());
+				queue.deleteMin();
+			}
+			assertTrue(queue.isEmpty());
+		}
+	}
+
+	@Test
+	void emptyQueueThrowsInFindMinAndDeleteMin()
+	{
+		try (FibonacciHeap.SpillingFibonacciQueue queue = new FibonacciHeap.SpillingFibonacciQueue(4, this.dir))
+		{
+			assertThrows(NoSuchElementException.class, queue::findMin);
+			assertThrows(NoSuchElementException.class, queue::deleteMin);
+			queue.insert(1);
+			queue.deleteMin();
+			assertThrows(NoSuchElementException.class, queue::findMin);
+			assertThrows(NoSuchElementException.class, queue::deleteMin);
+			assertEquals(0, queue.size());
+		}
+	}
+
+	@Test
+	void failedSpillKeepsTheKeys() throws IOException
+	{
+		Path runs = Files.createDirectory(this.dir.resolve("runs"));
+		try (FibonacciHeap.SpillingFibonacciQueue queue = new FibonacciHeap.SpillingFibonacciQueue(4, runs))
+		{
+			for (int key = 4; key > 0; key--)
+			{
+				queue.insert(key);
+			}
+			Files.delete(runs); //the run of the next spill can't be created
+			assertThrows(UncheckedIOException.class, () -> queue.insert(0));
+			assertEquals(4, queue.size());
+			Files.createDirectory(runs);
+			queue.insert(0);
+			for (int key = 0; key <= 4; key++)
+			{
+				assertEquals(key, queue.findMin());
+				queue.deleteMin();
+			}
+			assertTrue(queue.isEmpty());
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package fibonacciheap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * TimerServiceTest
+ *
+ * Rescheduling and firing timers of FibonacciHeap.TimerService, including deadlines at the ends
+ * of the range of a long.
+ */
+class TimerServiceTest
+{
+	@Test
+	void firesInDeadlineOrderAfterReschedules()
+	{
+		FibonacciHeap.TimerService<String> service = new FibonacciHeap.TimerService<>();
+		FibonacciHeap.TimerService.Timer<String> a = service.schedule(10, "a");
+		FibonacciHeap.TimerService.Timer<String> b = service.schedule(20, "b");
+		service.schedule(30, "c");
+		service.reschedule(a, 40); //later: re-keyed lazily
+		service.reschedule(b, 5); //earlier: a decreaseKey
+		assertEquals(5, service.nextDeadline());
+		List<String> fired = new ArrayList<>();
+		assertEquals(3, service.advanceTo(100, fired::add));
+		assertEquals(List.of("b", "c", "a"), fired);
+		assertFalse(a.isPending());
+	}
+
+	@Test
+	void reschedulesAcrossTheWholeRangeOfLong()
+	{
+		FibonacciHeap.TimerService<String> service = new FibonacciHeap.TimerService<>();
+		FibonacciHeap.TimerService.Timer<String> far = service.schedule(Long.MAX_VALUE, "far");
+		FibonacciHeap.TimerService.Timer<String> near = service.schedule(0, "near");
+		service.reschedule(far, Long.MIN_VALUE); //the distance doesn't fit a long
+		assertEquals(Long.MIN_VALUE, service.nextDeadline());
+		List<String> fired = new ArrayList<>();
+		assertEquals(1, service.advanceTo(Long.MIN_VALUE, fired::add));
+		assertEquals(List.of("far"), fired);
+		assertEquals(1, service.advanceTo(Long.MAX_VALUE, fired::add));
+		assertEquals(List.of("far", "near"), fired);
+		assertFalse(near.isPending());
+	}
+}